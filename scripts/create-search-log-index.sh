@@ -1,9 +1,14 @@
 #!/bin/bash
 
-# Elasticsearch search_log 인덱스 생성 스크립트
+# Elasticsearch search_log 파티션 인덱스 템플릿 + 당일 파티션 생성 스크립트
 
 ES_HOST="${ES_HOST:-http://localhost:9200}"
-INDEX_NAME="search_log"
+READ_ALIAS="search_log"
+WRITE_ALIAS="search_log_write"
+TEMPLATE_NAME="search_log_template"
+SCRIPT_DIR="$(cd "$(dirname "$0")" && pwd)"
+TEMPLATE_FILE="$SCRIPT_DIR/../src/main/resources/elasticsearch/search_log_index_template.json"
+TODAY_INDEX="$READ_ALIAS-$(date -u +%Y.%m.%d)"
 
 echo "🔧 Elasticsearch 연결 확인: $ES_HOST"
 
@@ -15,14 +20,15 @@ fi
 
 echo "✅ Elasticsearch 연결 성공"
 
-# 인덱스 존재 여부 확인
-if curl -s -o /dev/null -w "%{http_code}" "$ES_HOST/$INDEX_NAME" | grep -q "200"; then
-    echo "⚠️  인덱스가 이미 존재합니다: $INDEX_NAME"
-    read -p "삭제 후 재생성하시겠습니까? (y/n): " -n 1 -r
+# 단일 search_log 인덱스가 있으면 읽기 alias와 이름이 충돌
+if curl -s "$ES_HOST/_cat/indices/$READ_ALIAS?h=index" | grep -q "^$READ_ALIAS$"; then
+    echo "⚠️  단일 인덱스가 존재합니다: $READ_ALIAS"
+    echo "   파티션(search_log-*)을 사용하려면 기존 인덱스를 재색인 후 삭제해야 합니다."
+    read -p "기존 인덱스를 삭제하시겠습니까? (y/n): " -n 1 -r
     echo
     if [[ $REPLY =~ ^[Yy]$ ]]; then
         echo "🗑️  기존 인덱스 삭제 중..."
-        curl -X DELETE "$ES_HOST/$INDEX_NAME"
+        curl -X DELETE "$ES_HOST/$READ_ALIAS"
         echo
     else
         echo "취소되었습니다."
@@ -30,42 +36,23 @@ if curl -s -o /dev/null -w "%{http_code}" "$ES_HOST/$INDEX_NAME" | grep -q "200"
     fi
 fi
 
-# 인덱스 생성
-echo "📝 search_log 인덱스 생성 중..."
+# 인덱스 템플릿 생성 (search_log-* 파티션에 매핑과 읽기 alias 적용)
+echo "📝 search_log 인덱스 템플릿 생성 중..."
+curl -X PUT "$ES_HOST/_index_template/$TEMPLATE_NAME" -H 'Content-Type: application/json' -d @"$TEMPLATE_FILE"
+echo
 
-curl -X PUT "$ES_HOST/$INDEX_NAME" -H 'Content-Type: application/json' -d'
+# 당일 파티션 생성 및 쓰기 alias 지정
+echo "📝 당일 파티션 생성 중: $TODAY_INDEX"
+curl -X PUT "$ES_HOST/$TODAY_INDEX" -H 'Content-Type: application/json' -d"
 {
-  "mappings": {
-    "properties": {
-      "keyword": {
-        "type": "text",
-        "fields": {
-          "keyword": {
-            "type": "keyword"
-          }
-        }
-      },
-      "userId": {
-        "type": "keyword"
-      },
-      "timestamp": {
-        "type": "date",
-        "format": "strict_date_optional_time||epoch_millis"
-      }
-    }
-  },
-  "settings": {
-    "number_of_shards": 1,
-    "number_of_replicas": 1,
-    "index": {
-      "max_result_window": 10000
-    }
+  \"aliases\": {
+    \"$WRITE_ALIAS\": { \"is_write_index\": true }
   }
 }
-'
+"
 
 echo
-echo "✅ search_log 인덱스 생성 완료!"
+echo "✅ search_log 파티션 준비 완료!"
 echo
-echo "인덱스 정보 확인:"
-curl -X GET "$ES_HOST/$INDEX_NAME?pretty"
+echo "alias 정보 확인:"
+curl -X GET "$ES_HOST/_cat/aliases/$READ_ALIAS*?v"
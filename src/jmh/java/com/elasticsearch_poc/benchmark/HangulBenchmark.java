@@ -0,0 +1,33 @@
+package com.elasticsearch_poc.benchmark;
+
+import com.elasticsearch_poc.service.suggest.Hangul;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 자동완성 요청마다 실행되는 초성 판별/분해 (SearchService.isChosungLike -> Hangul)
+ * 입력: 초성만, 완성형 한글, 영문/숫자 혼합
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HangulBenchmark {
+
+    @Param({"ㄴㅌㅂ", "ㅅㅅ ㄴㅌㅂ", "삼성 노트북", "galaxy book 3"})
+    public String input;
+
+    @Benchmark
+    public boolean isChosungLike() {
+        return Hangul.isChosungLike(input);
+    }
+
+    @Benchmark
+    public void toChosung(Blackhole bh) {
+        bh.consume(Hangul.toChosung(input));
+    }
+}
@@ -0,0 +1,55 @@
+package com.elasticsearch_poc.benchmark;
+
+import com.elasticsearch_poc.loadtest.Zipf;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Zipf 분포 검색어 워크로드
+ * - 순위 r의 검색어가 1/r^s 에 비례하는 확률로 뽑힘 (실제 검색 로그처럼 소수 검색어에 집중 + 긴 꼬리)
+ * - 순위 샘플링은 부하 테스트와 같은 Zipf 샘플러(src/test) 사용, 여기서는 순위 -> 검색어 어휘만 만듦
+ */
+public final class ZipfKeywords {
+
+    private static final String[] BRANDS = {"삼성", "엘지", "애플", "레노버", "로지텍", "소니", "샤오미", "에이수스"};
+    private static final String[] PRODUCTS = {"노트북", "마우스", "키보드", "모니터", "이어폰", "태블릿", "충전기", "스피커", "웹캠", "공유기"};
+
+    private final String[] keywords;
+    private final Zipf zipf;
+
+    /**
+     * @param distinct 서로 다른 검색어 수
+     * @param exponent Zipf 지수 s (1.0 전후가 일반적인 검색 로그)
+     */
+    public ZipfKeywords(int distinct, double exponent) {
+        zipf = new Zipf(distinct, exponent);
+        keywords = new String[distinct];
+        for (int rank = 0; rank < distinct; rank++) {
+            keywords[rank] = keyword(rank);
+        }
+    }
+
+    public String next() {
+        return keywords[zipf.next(ThreadLocalRandom.current())];
+    }
+
+    /**
+     * 미리 뽑아 둔 검색어 배열 (측정 루프 안에서 난수 생성 비용을 빼고 싶을 때)
+     */
+    public String[] sample(int n) {
+        String[] out = new String[n];
+        for (int i = 0; i < n; i++) out[i] = next();
+        return out;
+    }
+
+    public int distinct() {
+        return keywords.length;
+    }
+
+    // 상위 순위는 "브랜드 상품", 꼬리로 갈수록 모델 번호가 붙은 검색어
+    private static String keyword(int rank) {
+        String base = BRANDS[rank % BRANDS.length] + " " + PRODUCTS[(rank / BRANDS.length) % PRODUCTS.length];
+        int variant = rank / (BRANDS.length * PRODUCTS.length);
+        return variant == 0 ? base : base + " " + variant;
+    }
+}
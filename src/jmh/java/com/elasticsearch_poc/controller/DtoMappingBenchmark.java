@@ -0,0 +1,93 @@
+package com.elasticsearch_poc.controller;
+
+import com.elasticsearch_poc.benchmark.ZipfKeywords;
+import com.elasticsearch_poc.service.PopularRecentService;
+import com.elasticsearch_poc.service.SearchService;
+import com.elasticsearch_poc.service.suggest.Hangul;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SearchController 응답 매핑 (서비스 결과 -> DTO -> JSON)
+ * - 매핑만 / 매핑 + Jackson 직렬화를 나눠 측정 (gc 프로파일러로 요청당 할당량 비교)
+ * 같은 패키지에 두어 컨트롤러의 package-private 매핑 메서드를 직접 호출
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({"10", "50"})
+    public int resultSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private SearchService.SearchResult searchResult;
+    private PopularRecentService.Snapshot popular;
+    private PopularRecentService.Snapshot recent;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ZipfKeywords keywords = new ZipfKeywords(1000, 1.0);
+        List<Map<String, Object>> docs = new ArrayList<>(resultSize);
+        for (int i = 0; i < resultSize; i++) {
+            Map<String, Object> doc = new LinkedHashMap<>();
+            String name = keywords.next();
+            doc.put("goods_code", "G" + (100000 + i));
+            doc.put("goods_name", name);
+            doc.put("goods_name_chosung", Hangul.toChosung(name));
+            doc.put("category", "디지털/가전");
+            doc.put("description", name + " 상품 설명입니다. 무료 배송, 당일 출고.");
+            docs.add(doc);
+        }
+        searchResult = new SearchService.SearchResult(12345, List.copyOf(docs));
+
+        List<Map<String, Object>> popularItems = new ArrayList<>();
+        List<Map<String, Object>> recentItems = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < resultSize; i++) {
+            Map<String, Object> p = new HashMap<>();
+            p.put("keyword", keywords.next());
+            p.put("count", (long) (1000 - i));
+            p.put("error", 0L);
+            popularItems.add(p);
+            Map<String, Object> r = new HashMap<>();
+            r.put("keyword", keywords.next());
+            r.put("ts", now - i * 1000L);
+            recentItems.add(r);
+        }
+        popular = new PopularRecentService.Snapshot(popularItems, 150);
+        recent = new PopularRecentService.Snapshot(recentItems, 0);
+    }
+
+    @Benchmark
+    public void mapSearch(Blackhole bh) {
+        bh.consume(SearchController.toSearchResponse("노트북", resultSize, 1, searchResult));
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeSearch() throws Exception {
+        return objectMapper.writeValueAsBytes(SearchController.toSearchResponse("노트북", resultSize, 1, searchResult));
+    }
+
+    @Benchmark
+    public void mapPopularAndRecent(Blackhole bh) {
+        bh.consume(SearchController.toPopularDto(popular));
+        bh.consume(SearchController.toRecentDto(recent));
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializePopular() throws Exception {
+        return objectMapper.writeValueAsBytes(SearchController.toPopularDto(popular));
+    }
+}
@@ -0,0 +1,123 @@
+package com.elasticsearch_poc.service;
+
+import com.elasticsearch_poc.benchmark.ZipfKeywords;
+import com.elasticsearch_poc.service.popular.CountMinTopKTracker;
+import com.elasticsearch_poc.service.popular.HeavyHitterTracker;
+import com.elasticsearch_poc.service.popular.PopularWindow;
+import com.elasticsearch_poc.service.popular.RecentRingBuffer;
+import com.elasticsearch_poc.service.popular.SpaceSavingTracker;
+import com.elasticsearch_poc.service.popular.WindowedHeavyHitters;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PopularRecentService 인메모리 경로 (popular.use-elasticsearch=false)
+ * - recordQuery: Zipf 분포 검색어를 여러 스레드가 동시에 기록 (상위 검색어 카운터 경합)
+ * - getPopular/getRecent: 기록과 조회가 섞인 상태에서 스냅샷 조회
+ * 같은 패키지에 두어 서비스의 package-private 설정 메서드를 직접 호출
+ * 실행: ./gradlew jmh -PjmhInclude=PopularRecentBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PopularRecentBenchmark {
+
+    @Param({"space-saving", "count-min"})
+    public String engine;
+
+    // 서로 다른 검색어 수 (추적 용량 1000보다 크면 교체/오차가 발생하는 롱테일)
+    @Param({"10000"})
+    public int distinct;
+
+    @Param({"1.0"})
+    public double zipfExponent;
+
+    private PopularRecentService service;
+    private String[] workload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        HeavyHitterTracker tracker = switch (engine) {
+            case "space-saving" -> new SpaceSavingTracker(1000);
+            case "count-min" -> new CountMinTopKTracker(1000, 0.0001, 0.999);
+            default -> throw new IllegalArgumentException(engine);
+        };
+        // Elasticsearch 의존성 없이 인메모리 모드로 구성 (@Value 필드는 기본값 false/0이므로 최대 조회 수(스냅샷 크기)만 지정)
+        service = new PopularRecentService(null, null, tracker, new WindowedHeavyHitters(200, 1000), new RecentRingBuffer(100));
+        service.setMaxLimit(100);
+
+        workload = new ZipfKeywords(distinct, zipfExponent).sample(1 << 16);
+        for (String keyword : workload) {
+            service.recordQuery(keyword);
+        }
+        service.publishPopularSnapshot();
+        service.publishWindowSnapshots();
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            next = (int) (Thread.currentThread().threadId() * 7919);
+        }
+    }
+
+    private String nextKeyword(Cursor cursor) {
+        return workload[(cursor.next++ & Integer.MAX_VALUE) % workload.length];
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void recordQuerySingleThread(Cursor cursor) {
+        service.recordQuery(nextKeyword(cursor));
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void recordQueryContended(Cursor cursor) {
+        service.recordQuery(nextKeyword(cursor));
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void getPopular(Blackhole bh) {
+        bh.consume(service.getPopular(10, PopularWindow.ALL));
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void getPopularWindow(Blackhole bh) {
+        bh.consume(service.getPopular(10, PopularWindow.LAST_1H));
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void getRecent(Blackhole bh) {
+        bh.consume(service.getRecent(10));
+    }
+
+    /**
+     * 기록 3 : 조회 1 혼합 (검색 트래픽이 쓰기, 사이드바/자동완성이 읽기)
+     */
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public void mixedRecord(Cursor cursor) {
+        service.recordQuery(nextKeyword(cursor));
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void mixedRead(Blackhole bh) {
+        bh.consume(service.getPopular(10, PopularWindow.ALL));
+        bh.consume(service.getRecent(10));
+    }
+}
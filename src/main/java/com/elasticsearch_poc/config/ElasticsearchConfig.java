@@ -1,29 +1,157 @@
 package com.elasticsearch_poc.config;
 
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
 import co.elastic.clients.transport.rest_client.RestClientTransport;
 import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.apache.http.HttpHost;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.pool.PoolStats;
+import org.elasticsearch.client.Node;
+import org.elasticsearch.client.NodeSelector;
 import org.elasticsearch.client.RestClient;
+import org.elasticsearch.client.sniff.SniffOnFailureListener;
+import org.elasticsearch.client.sniff.Sniffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Elasticsearch 클라이언트 설정
+ * - elasticsearch.hosts의 노드들에 라운드로빈 분산, 실패 노드는 RestClient가 일정 시간 제외 후 재시도
+ * - 커넥션 풀(전체/라우트별 최대 연결 수, keep-alive) 설정 및 사용량 메트릭 노출
+ * - 요청/응답 본문 gzip 압축
+ * - elasticsearch.sniff.enabled=true이면 클러스터 노드 목록을 주기적으로(+실패 시 즉시) 갱신
+ */
 @Configuration
 public class ElasticsearchConfig {
 
-    @Value("${elasticsearch.host:http://localhost:9200}")
-    private String elasticHost;
+    private static final Logger log = LoggerFactory.getLogger(ElasticsearchConfig.class);
+
+    // 쉼표로 구분한 노드 목록 (예: http://es1:9200,http://es2:9200), 없으면 단일 elasticsearch.host 사용
+    @Value("${elasticsearch.hosts:${elasticsearch.host:http://localhost:9200}}")
+    private String[] elasticHosts;
+
+    @Value("${elasticsearch.pool.max-total:100}")
+    private int maxConnTotal;
+
+    @Value("${elasticsearch.pool.max-per-route:30}")
+    private int maxConnPerRoute;
+
+    // 유휴 연결 유지 시간 (서버/LB의 idle timeout보다 짧게)
+    @Value("${elasticsearch.pool.keep-alive-ms:60000}")
+    private long keepAliveMs;
+
+    @Value("${elasticsearch.connect-timeout-ms:1000}")
+    private int connectTimeoutMs;
+
+    @Value("${elasticsearch.socket-timeout-ms:30000}")
+    private int socketTimeoutMs;
+
+    @Value("${elasticsearch.compression-enabled:true}")
+    private boolean compressionEnabled;
+
+    @Value("${elasticsearch.sniff.enabled:false}")
+    private boolean sniffEnabled;
+
+    /**
+     * 비동기 HTTP 커넥션 풀 (메트릭 조회를 위해 빈으로 노출, 종료는 RestClient가 담당)
+     */
+    @Bean(destroyMethod = "")
+    public PoolingNHttpClientConnectionManager elasticsearchConnectionManager() throws IOReactorException {
+        DefaultConnectingIOReactor ioReactor = new DefaultConnectingIOReactor(IOReactorConfig.custom()
+                .setConnectTimeout(connectTimeoutMs)
+                .setSoTimeout(socketTimeoutMs)
+                .setSoKeepAlive(true)
+                .build());
+        PoolingNHttpClientConnectionManager connectionManager = new PoolingNHttpClientConnectionManager(ioReactor);
+        connectionManager.setMaxTotal(maxConnTotal);
+        connectionManager.setDefaultMaxPerRoute(maxConnPerRoute);
+        return connectionManager;
+    }
+
+    @Bean
+    public NodeFailureListener elasticsearchNodeFailureListener() {
+        return new NodeFailureListener(sniffEnabled);
+    }
 
     @Bean(destroyMethod = "close")
-    public RestClient restClient() {
-        // elasticHost format: http://host:port
-        String hostOnly = elasticHost.replace("http://", "").replace("https://", "");
-        String[] parts = hostOnly.split(":");
-        String host = parts[0];
-        int port = parts.length > 1 ? Integer.parseInt(parts[1]) : 9200;
-        String scheme = elasticHost.startsWith("https") ? "https" : "http";
-        return RestClient.builder(new HttpHost(host, port, scheme)).build();
+    public RestClient restClient(PoolingNHttpClientConnectionManager connectionManager,
+                                 NodeFailureListener failureListener) {
+        // elasticHosts format: http://host:port
+        HttpHost[] hosts = Arrays.stream(elasticHosts)
+                .map(String::trim)
+                .filter(h -> !h.isEmpty())
+                .map(HttpHost::create)
+                .toArray(HttpHost[]::new);
+        log.info("🔌 Elasticsearch 노드: {}", Arrays.toString(hosts));
+        return RestClient.builder(hosts)
+                .setNodeSelector(NodeSelector.SKIP_DEDICATED_MASTERS)
+                .setFailureListener(failureListener)
+                .setCompressionEnabled(compressionEnabled)
+                .setRequestConfigCallback(rc -> rc
+                        .setConnectTimeout(connectTimeoutMs)
+                        .setSocketTimeout(socketTimeoutMs))
+                .setHttpClientConfigCallback(hc -> hc
+                        .setConnectionManager(connectionManager)
+                        .setKeepAliveStrategy((response, context) -> keepAliveMs))
+                .build();
+    }
+
+    /**
+     * 클러스터 노드 목록 자동 갱신 (elasticsearch.sniff.enabled=true)
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "elasticsearch.sniff.enabled", havingValue = "true")
+    public Sniffer elasticsearchSniffer(RestClient restClient,
+                                        NodeFailureListener failureListener,
+                                        @Value("${elasticsearch.sniff.interval-ms:300000}") int sniffIntervalMs,
+                                        @Value("${elasticsearch.sniff.after-failure-delay-ms:30000}") int sniffAfterFailureDelayMs) {
+        Sniffer sniffer = Sniffer.builder(restClient)
+                .setSniffIntervalMillis(sniffIntervalMs)
+                .setSniffAfterFailureDelayMillis(sniffAfterFailureDelayMs)
+                .build();
+        failureListener.setSniffer(sniffer);
+        return sniffer;
+    }
+
+    /**
+     * 커넥션 풀/노드 실패 메트릭 (elasticsearch.client.*)
+     */
+    @Bean
+    public MeterBinder elasticsearchClientMetrics(PoolingNHttpClientConnectionManager connectionManager,
+                                                  NodeFailureListener failureListener) {
+        return registry -> {
+            poolGauge(registry, connectionManager, "leased", "사용 중인 연결 수", PoolStats::getLeased);
+            poolGauge(registry, connectionManager, "available", "유휴 연결 수", PoolStats::getAvailable);
+            poolGauge(registry, connectionManager, "pending", "연결을 기다리는 요청 수", PoolStats::getPending);
+            poolGauge(registry, connectionManager, "max", "최대 연결 수", PoolStats::getMax);
+            FunctionCounter.builder("elasticsearch.client.node.failures", failureListener, NodeFailureListener::failures)
+                    .description("요청 실패로 일시 제외된 노드 수 (누적)")
+                    .register(registry);
+        };
+    }
+
+    private static void poolGauge(io.micrometer.core.instrument.MeterRegistry registry,
+                                  PoolingNHttpClientConnectionManager connectionManager,
+                                  String state, String description, ToDoubleFunction<PoolStats> value) {
+        Gauge.builder("elasticsearch.client.pool." + state, connectionManager,
+                        cm -> value.applyAsDouble(cm.getTotalStats()))
+                .description(description)
+                .register(registry);
     }
 
     @Bean(destroyMethod = "close")
@@ -35,4 +163,40 @@ public class ElasticsearchConfig {
     public ElasticsearchClient elasticsearchClient(RestClientTransport transport) {
         return new ElasticsearchClient(transport);
     }
+
+    /**
+     * 비동기 클라이언트 (같은 transport/커넥션 풀 공유)
+     * 요청 스레드를 Elasticsearch 응답 대기 동안 점유하지 않음
+     */
+    @Bean
+    public ElasticsearchAsyncClient elasticsearchAsyncClient(RestClientTransport transport) {
+        return new ElasticsearchAsyncClient(transport);
+    }
+
+    /**
+     * 노드 실패 기록 (+ sniff 사용 시 즉시 노드 목록 갱신)
+     * 실패한 노드는 RestClient가 backoff 동안 라운드로빈 대상에서 제외
+     */
+    public static class NodeFailureListener extends SniffOnFailureListener {
+
+        private final boolean sniffOnFailure;
+        private final AtomicLong failures = new AtomicLong();
+
+        public NodeFailureListener(boolean sniffOnFailure) {
+            this.sniffOnFailure = sniffOnFailure;
+        }
+
+        @Override
+        public void onFailure(Node node) {
+            failures.incrementAndGet();
+            log.warn("⚠️ Elasticsearch 노드 요청 실패, 일시 제외: {}", node.getHost());
+            if (sniffOnFailure) {
+                super.onFailure(node);
+            }
+        }
+
+        public double failures() {
+            return failures.get();
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package com.elasticsearch_poc.config;
 
 import com.elasticsearch_poc.dto.kafka.KeywordDto;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
@@ -8,10 +9,14 @@ import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.util.backoff.FixedBackOff;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -22,6 +27,30 @@ public class KafkaConfig {
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
 
+    // 배치 플러시 조건: 문서 수 / 바이트 / 최대 대기 시간 중 먼저 도달하는 쪽
+    @Value("${search-log.bulk.max-docs:500}")
+    private int batchMaxDocs;
+
+    @Value("${search-log.bulk.min-bytes:65536}")
+    private int batchMinBytes;
+
+    @Value("${search-log.bulk.max-latency-ms:1000}")
+    private int batchMaxLatencyMs;
+
+    // _bulk 요청 실패 시 배치 재처리 간격
+    @Value("${search-log.bulk.retry-interval-ms:1000}")
+    private long batchRetryIntervalMs;
+
+    // true: 리스너 컨테이너 스레드를 가상 스레드로 실행 (Tomcat/스케줄러는 Spring Boot가 같은 설정으로 전환)
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final MeterRegistry meterRegistry;
+
+    public KafkaConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     // Producer - JSON 직렬화를 사용하여 KeywordDto 전송
     @Bean
     public ProducerFactory<String, KeywordDto> producerFactory() {
@@ -31,7 +60,10 @@ public class KafkaConfig {
         configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
         configProps.put(ProducerConfig.ACKS_CONFIG, "1"); // 리더만 확인
         configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
-        return new DefaultKafkaProducerFactory<>(configProps);
+        DefaultKafkaProducerFactory<String, KeywordDto> factory = new DefaultKafkaProducerFactory<>(configProps);
+        // Kafka 클라이언트 메트릭 (kafka.producer.*: 전송 속도, 요청 지연, 재시도/오류 등)
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return factory;
     }
 
     @Bean
@@ -49,8 +81,16 @@ public class KafkaConfig {
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
         props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
-        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), 
-                new JsonDeserializer<>(KeywordDto.class));
+        // 오프셋은 _bulk 저장이 성공한 뒤 컨테이너가 커밋
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchMaxDocs);
+        props.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, batchMinBytes);
+        props.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, batchMaxLatencyMs);
+        DefaultKafkaConsumerFactory<String, KeywordDto> factory = new DefaultKafkaConsumerFactory<>(props,
+                new StringDeserializer(), new JsonDeserializer<>(KeywordDto.class));
+        // Kafka 클라이언트 메트릭 (kafka.consumer.*: 파티션별 lag(records.lag.max), fetch 지연 등)
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
     }
 
     @Bean
@@ -58,6 +98,20 @@ public class KafkaConfig {
         ConcurrentKafkaListenerContainerFactory<String, KeywordDto> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        // 배치 리스너: poll 단위로 레코드를 모아 하나의 _bulk 요청으로 처리
+        factory.setBatchListener(true);
+        // 리스너가 정상 반환된 배치만 오프셋 커밋
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        // _bulk 요청 자체가 실패하면 커밋하지 않고 같은 배치를 성공할 때까지 재처리
+        factory.setCommonErrorHandler(new DefaultErrorHandler(
+                new FixedBackOff(batchRetryIntervalMs, FixedBackOff.UNLIMITED_ATTEMPTS)));
+        // 직접 정의한 팩토리에는 Spring Boot 자동 설정이 적용되지 않으므로 가상 스레드 실행기를 직접 지정
+        // _bulk 응답을 기다리는 동안 플랫폼 스레드를 점유하지 않음
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("search-log-listener-");
+            executor.setVirtualThreads(true);
+            factory.getContainerProperties().setListenerTaskExecutor(executor);
+        }
         return factory;
     }
 }
@@ -0,0 +1,105 @@
+package com.elasticsearch_poc.config;
+
+import com.elasticsearch_poc.service.PopularRecentService;
+import com.elasticsearch_poc.service.popular.CountMinTopKTracker;
+import com.elasticsearch_poc.service.popular.HeavyHitterTracker;
+import com.elasticsearch_poc.service.popular.RecentRingBuffer;
+import com.elasticsearch_poc.service.popular.SpaceSavingTracker;
+import com.elasticsearch_poc.service.popular.WindowedHeavyHitters;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.ToDoubleFunction;
+
+@Configuration
+public class PopularMemoryConfig {
+
+    // 추적 항목 하나의 대략적인 힙 사용량 (검색어 문자열 + 카운터/맵 노드)
+    private static final long ESTIMATED_ENTRY_BYTES = 128;
+
+    // space-saving | count-min
+    @Value("${popular.memory.engine:space-saving}")
+    private String engine;
+
+    // 추적할 최대 검색어 수 (고정 메모리 예산)
+    @Value("${popular.memory.capacity:1000}")
+    private int capacity;
+
+    @Value("${popular.memory.cms.epsilon:0.0001}")
+    private double cmsEpsilon;
+
+    @Value("${popular.memory.cms.confidence:0.999}")
+    private double cmsConfidence;
+
+    // 구간별 인기 검색어: 1분/1시간 버킷마다 추적할 검색어 수
+    @Value("${popular.window.minute-bucket-capacity:200}")
+    private int minuteBucketCapacity;
+
+    @Value("${popular.window.hour-bucket-capacity:1000}")
+    private int hourBucketCapacity;
+
+    // 인메모리 최근 검색어 보관 개수
+    @Value("${popular.recent.capacity:100}")
+    private int recentCapacity;
+
+    // 인메모리 인기 검색어 Top-K 엔진
+    @Bean
+    public HeavyHitterTracker heavyHitterTracker() {
+        return switch (engine) {
+            case "space-saving" -> new SpaceSavingTracker(capacity);
+            case "count-min" -> new CountMinTopKTracker(capacity, cmsEpsilon, cmsConfidence);
+            default -> throw new IllegalArgumentException("Unknown popular.memory.engine: " + engine);
+        };
+    }
+
+    // 구간별(5분/1시간/24시간) 인기 검색어 추적기
+    @Bean
+    public WindowedHeavyHitters windowedHeavyHitters() {
+        return new WindowedHeavyHitters(minuteBucketCapacity, hourBucketCapacity);
+    }
+
+    // 인메모리 최근 검색어 링 버퍼
+    @Bean
+    public RecentRingBuffer recentRingBuffer() {
+        return new RecentRingBuffer(recentCapacity);
+    }
+
+    /**
+     * 인메모리 인기/최근 검색어 메모리 사용량 메트릭 (popular.memory.*)
+     * 모든 구조가 고정 용량이므로 추적 항목 수 / 용량으로 메모리 예산 대비 사용량을 확인
+     */
+    @Bean
+    public MeterBinder popularMemoryMetrics(HeavyHitterTracker tracker, WindowedHeavyHitters windowed,
+                                            RecentRingBuffer recent, PopularRecentService popularRecentService) {
+        return registry -> {
+            structureGauges(registry, "top-k", tracker, HeavyHitterTracker::size, HeavyHitterTracker::capacity);
+            structureGauges(registry, "window", windowed, WindowedHeavyHitters::trackedKeywords, WindowedHeavyHitters::capacity);
+            structureGauges(registry, "recent", recent, RecentRingBuffer::size, RecentRingBuffer::capacity);
+            Gauge.builder("popular.memory.estimated", () ->
+                            (double) (tracker.size() + windowed.trackedKeywords() + recent.size()) * ESTIMATED_ENTRY_BYTES)
+                    .description("인메모리 인기/최근 검색어 추정 힙 사용량")
+                    .baseUnit("bytes")
+                    .register(registry);
+            Gauge.builder("popular.es_snapshot.age", popularRecentService, PopularRecentService::esSnapshotAgeMs)
+                    .description("Elasticsearch 인기/최근 검색어 스냅샷 경과 시간 (없으면 -1)")
+                    .baseUnit("milliseconds")
+                    .register(registry);
+        };
+    }
+
+    private static <T> void structureGauges(MeterRegistry registry, String structure, T target,
+                                            ToDoubleFunction<T> entries, ToDoubleFunction<T> capacity) {
+        Gauge.builder("popular.memory.entries", target, entries)
+                .description("추적 중인 검색어 항목 수")
+                .tag("structure", structure)
+                .register(registry);
+        Gauge.builder("popular.memory.capacity", target, capacity)
+                .description("최대 추적 항목 수")
+                .tag("structure", structure)
+                .register(registry);
+    }
+}
@@ -0,0 +1,28 @@
+package com.elasticsearch_poc.config;
+
+import com.elasticsearch_poc.service.SearchResultCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class SearchCacheConfig {
+
+    @Value("${search.cache.enabled:true}")
+    private boolean enabled;
+
+    // 캐시에 보관할 최대 검색 결과 수
+    @Value("${search.cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${search.cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    // 상품 검색 결과 캐시
+    @Bean
+    public SearchResultCache searchResultCache() {
+        return new SearchResultCache(enabled, maxSize, Duration.ofSeconds(ttlSeconds));
+    }
+}
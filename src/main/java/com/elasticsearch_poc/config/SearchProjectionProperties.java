@@ -0,0 +1,50 @@
+package com.elasticsearch_poc.config;
+
+import com.elasticsearch_poc.service.SourceProjection;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 검색 결과 필드 프로필 (search.projection.*)
+ * - views.<이름>.includes / excludes: 호출 측 화면별 _source 필터 (예: list, detail)
+ * - default-view: fields/view 파라미터가 없을 때 사용할 프로필 (비우면 전체 _source)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "search.projection")
+public class SearchProjectionProperties {
+
+    private String defaultView = "";
+    private Map<String, View> views = new HashMap<>();
+
+    @Data
+    public static class View {
+        private List<String> includes = new ArrayList<>();
+        private List<String> excludes = new ArrayList<>();
+    }
+
+    /**
+     * 요청 파라미터 -> _source 필터 (fields 우선, 그다음 view, 둘 다 없으면 default-view)
+     * @throws IllegalArgumentException 알 수 없는 view 또는 허용되지 않는 필드명
+     */
+    public SourceProjection resolve(String fields, String view) {
+        if (fields != null && !fields.isBlank()) {
+            return SourceProjection.ofFields(fields);
+        }
+        String name = (view != null && !view.isBlank()) ? view.trim() : defaultView;
+        if (name == null || name.isBlank()) {
+            return SourceProjection.FULL;
+        }
+        View profile = views.get(name);
+        if (profile == null) {
+            throw new IllegalArgumentException("알 수 없는 view입니다: " + name);
+        }
+        return new SourceProjection(profile.getIncludes(), profile.getExcludes());
+    }
+}
@@ -14,6 +14,8 @@ public class SecurityConfig {
         http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
+                        // 운영용 API(캐시 무효화 등)는 HTTP Basic 인증 (spring.security.user.*)
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         .requestMatchers("/", "/index.html", "/static/**", "/assets/**", "/api/**").permitAll()
                         .anyRequest().permitAll()
                 )
@@ -0,0 +1,58 @@
+package com.elasticsearch_poc.controller;
+
+import com.elasticsearch_poc.dto.response.CacheStatsDto;
+import com.elasticsearch_poc.dto.response.CoalescingStatsDto;
+import com.elasticsearch_poc.service.SearchResultCache;
+import com.elasticsearch_poc.service.SearchService;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 운영용 API (캐시 통계/무효화, 동시 호출 병합 통계)
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private final SearchService searchService;
+    private final SearchResultCache searchResultCache;
+
+    public AdminController(SearchService searchService, SearchResultCache searchResultCache) {
+        this.searchService = searchService;
+        this.searchResultCache = searchResultCache;
+    }
+
+    @GetMapping("/search-cache")
+    public ResponseEntity<CacheStatsDto> searchCacheStats() {
+        CacheStats stats = searchResultCache.stats();
+        CacheStatsDto dto = CacheStatsDto.builder()
+                .enabled(searchResultCache.isEnabled())
+                .size(searchResultCache.estimatedSize())
+                .hits(stats.hitCount())
+                .misses(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictions(stats.evictionCount())
+                .build();
+        return ResponseEntity.ok(dto);
+    }
+
+    // 카탈로그(oracle_products) 재색인 후 호출
+    @DeleteMapping("/search-cache")
+    public ResponseEntity<Void> invalidateSearchCache() {
+        searchService.invalidateSearchCache();
+        return ResponseEntity.noContent().build();
+    }
+
+    // 동일 요청 동시 호출 병합 통계
+    @GetMapping("/coalescing")
+    public ResponseEntity<CoalescingStatsDto> coalescingStats() {
+        SearchService.CoalescingStats stats = searchService.coalescingStats();
+        return ResponseEntity.ok(new CoalescingStatsDto(
+                stats.searchCalls(), stats.searchCollapsed(),
+                stats.suggestCalls(), stats.suggestCollapsed()));
+    }
+}
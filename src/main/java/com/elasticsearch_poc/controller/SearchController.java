@@ -1,22 +1,40 @@
 package com.elasticsearch_poc.controller;
 
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import com.elasticsearch_poc.config.SearchProjectionProperties;
+import com.elasticsearch_poc.dto.request.CursorSearchRequestDto;
+import com.elasticsearch_poc.dto.request.ExportRequestDto;
+import com.elasticsearch_poc.dto.request.HomeRequestDto;
 import com.elasticsearch_poc.dto.request.LimitRequestDto;
+import com.elasticsearch_poc.dto.request.PopularRequestDto;
 import com.elasticsearch_poc.dto.request.SearchRequestDto;
 import com.elasticsearch_poc.dto.request.SuggestRequestDto;
 import com.elasticsearch_poc.dto.response.*;
 import com.elasticsearch_poc.service.PopularRecentService;
+import com.elasticsearch_poc.service.SearchExportService;
 import com.elasticsearch_poc.service.SearchLogProducer;
 import com.elasticsearch_poc.service.SearchService;
+import com.elasticsearch_poc.service.SourceProjection;
+import com.elasticsearch_poc.service.popular.PopularWindow;
+import com.elasticsearch_poc.service.suggest.SpellCorrectionService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 @RestController
@@ -26,29 +44,49 @@ public class SearchController {
     private final SearchService searchService;
     private final PopularRecentService prs;
     private final SearchLogProducer searchLogProducer;
+    private final SpellCorrectionService spellCorrection;
+    private final SearchExportService searchExportService;
+    private final SearchProjectionProperties projections;
 
-    public SearchController(SearchService searchService, PopularRecentService prs, SearchLogProducer searchLogProducer) {
+    // 검색 API 공통 페이지 크기 상한 (커서 토큰의 size도 SearchService에서 같은 값으로 검증)
+    @Value("${search.max-size:100}")
+    private int maxSize;
+
+    public SearchController(SearchService searchService, PopularRecentService prs,
+                            SearchLogProducer searchLogProducer, SpellCorrectionService spellCorrection,
+                            SearchExportService searchExportService, SearchProjectionProperties projections) {
         this.searchService = searchService;
         this.prs = prs;
         this.searchLogProducer = searchLogProducer;
+        this.spellCorrection = spellCorrection;
+        this.searchExportService = searchExportService;
+        this.projections = projections;
     }
 
     @GetMapping("/search")
-    public ResponseEntity<SearchResponseDto> search(@ModelAttribute SearchRequestDto request) throws IOException {
+    public CompletableFuture<ResponseEntity<SearchResponseDto>> search(@ModelAttribute SearchRequestDto request) {
         String q = request.getQ();
         String field = request.getField();
-        int size = request.getSize() == null ? 10 : request.getSize();
+        int size = pageSize(request.getSize());
         int page = request.getPage() == null || request.getPage() < 1 ? 1 : request.getPage();
         int from = (page - 1) * size;
+        SourceProjection projection = resolveProjection(request);
         
         // Kafka를 통해 검색 로그 전송 (비동기)
         searchLogProducer.sendSearchLog(q, null);
         
-        SearchService.SearchResult sr = searchService.search(q, field, size, from);
+        // Elasticsearch 응답을 기다리는 동안 요청 스레드를 반환하고 응답 시 완료
+        return searchService.searchAsync(q, field, size, from, projection)
+                .thenApply(sr -> ResponseEntity.ok(toSearchResponse(q, size, page, sr)));
+    }
+
+    /**
+     * 검색 결과 -> 응답 DTO (DTO 매핑 벤치마크에서 직접 호출하므로 package-private)
+     */
+    static SearchResponseDto toSearchResponse(String q, int size, int page, SearchService.SearchResult sr) {
         long total = sr.getTotal();
         int totalPages = size > 0 ? (int) Math.max(1, (long) Math.ceil((double) total / size)) : 1;
-
-        SearchResponseDto searchResponseDto = SearchResponseDto.builder()
+        return SearchResponseDto.builder()
                 .query(q)
                 .size(size)
                 .page(page)
@@ -56,62 +94,237 @@ public class SearchController {
                 .totalPages(totalPages)
                 .results(sr.getResults())
                 .build();
+    }
+
+    /**
+     * 커서 기반 페이징 (PIT + search_after)
+     * 첫 요청은 q/field/size로 시작하고, 이후에는 응답의 nextCursor만 전달 (깊이와 무관하게 페이지 비용 일정)
+     */
+    @GetMapping("/search/cursor")
+    public CompletableFuture<ResponseEntity<SearchResponseDto>> searchWithCursor(@ModelAttribute CursorSearchRequestDto request) {
+        String cursor = request.getCursor();
+        boolean first = cursor == null || cursor.isBlank();
+        if (first) {
+            // 검색 로그는 첫 페이지에서만 전송
+            searchLogProducer.sendSearchLog(request.getQ(), null);
+        }
+        int size = pageSize(request.getSize());
+        return searchService.searchWithCursor(request.getQ(), request.getField(), size, cursor)
+                .thenApply(page -> {
+                    long total = page.result().getTotal();
+                    int totalPages = (int) Math.max(1, (long) Math.ceil((double) total / page.size()));
+                    SearchResponseDto searchResponseDto = SearchResponseDto.builder()
+                            .query(page.query())
+                            .size(page.size())
+                            .page(page.page())
+                            .total(total)
+                            .totalPages(totalPages)
+                            .results(page.result().getResults())
+                            .nextCursor(page.nextCursor())
+                            .build();
+                    return ResponseEntity.ok(searchResponseDto);
+                })
+                .exceptionally(e -> {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof IllegalArgumentException) {
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, cause.getMessage());
+                    }
+                    if (cause instanceof ElasticsearchException ee && ee.status() == 404) {
+                        // keep-alive가 지나 PIT가 만료된 커서
+                        throw new ResponseStatusException(HttpStatus.GONE, "커서가 만료되었습니다.");
+                    }
+                    throw e instanceof CompletionException ce ? ce : new CompletionException(e);
+                });
+    }
+
+    /**
+     * 커서 조기 종료 (더 이상 페이지를 읽지 않을 때 PIT 해제)
+     */
+    @DeleteMapping("/search/cursor")
+    public CompletableFuture<ResponseEntity<Void>> closeCursor(@RequestParam("cursor") String cursor) {
+        return searchService.closeCursor(cursor)
+                .thenApply(v -> ResponseEntity.noContent().<Void>build())
+                .exceptionally(e -> {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 커서입니다.");
+                });
+    }
+
+    /**
+     * 상품 검색 (raw 모드)
+     * /api/search와 같은 응답 형태이지만 각 결과(_source)를 Map으로 역직렬화하지 않고 Elasticsearch 응답에서 그대로 복사
+     */
+    @GetMapping(value = "/search/raw", produces = "application/json")
+    public void rawSearch(@ModelAttribute SearchRequestDto request, HttpServletResponse response) throws IOException {
+        String q = request.getQ();
+        int size = pageSize(request.getSize());
+        int page = request.getPage() == null || request.getPage() < 1 ? 1 : request.getPage();
+        SourceProjection projection = resolveProjection(request);
+
+        // Kafka를 통해 검색 로그 전송 (비동기)
+        searchLogProducer.sendSearchLog(q, null);
+
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        searchService.rawSearch(q, request.getField(), size, page, projection, response.getOutputStream());
+    }
+
+    /**
+     * 페이지 크기 (기본 10, 1~search.max-size를 벗어나면 400)
+     */
+    private int pageSize(Integer size) {
+        if (size == null) return 10;
+        if (size < 1 || size > maxSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size는 1~" + maxSize + " 사이여야 합니다.");
+        }
+        return size;
+    }
+
+    /**
+     * fields / view 파라미터 -> _source 필터 (잘못된 값은 400)
+     */
+    private SourceProjection resolveProjection(SearchRequestDto request) {
+        try {
+            return projections.resolve(request.getFields(), request.getView());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
 
-        return ResponseEntity.ok(searchResponseDto);
+    /**
+     * 검색 결과 전체를 NDJSON(한 줄에 문서 하나)으로 스트리밍
+     * 건수와 무관하게 한 페이지 분량만 메모리에 두며, 클라이언트가 느리면 쓰기가 블로킹되어 조회도 늦춰짐
+     * StreamingResponseBody는 비동기 요청 타임아웃(spring.mvc.async.request-timeout)에 걸리므로 요청 스레드에서 직접 기록
+     */
+    @GetMapping(value = "/search/export", produces = "application/x-ndjson")
+    public void export(@ModelAttribute ExportRequestDto request, HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        searchExportService.export(request.getQ(), request.getField(), response.getOutputStream());
     }
 
     @GetMapping("/popular")
-    public ResponseEntity<PopularResponseDto> popular(@ModelAttribute LimitRequestDto request) {
+    public CompletableFuture<ResponseEntity<PopularResponseDto>> popular(@ModelAttribute PopularRequestDto request) {
         int limit = request.getLimit() == null ? 10 : request.getLimit();
-        List<PopularItemDto> items = prs.getPopular(limit).stream()
-                .map(m -> new PopularItemDto((String) m.get("keyword"), ((Number) m.getOrDefault("count", 0)).intValue()))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(new PopularResponseDto(items));
+        PopularWindow window = parseWindow(request.getWindow());
+        return prs.getPopularAsync(limit, window).thenApply(snapshot -> ResponseEntity.ok(toPopularDto(snapshot)));
     }
 
     @GetMapping("/recent")
-    public ResponseEntity<RecentResponseDto> recent(@ModelAttribute LimitRequestDto request) {
+    public CompletableFuture<ResponseEntity<RecentResponseDto>> recent(@ModelAttribute LimitRequestDto request) {
+        int limit = request.getLimit() == null ? 10 : request.getLimit();
+        return prs.getRecentAsync(limit).thenApply(snapshot -> ResponseEntity.ok(toRecentDto(snapshot)));
+    }
+
+    /**
+     * 첫 화면 데이터 (인기 검색어 + 최근 검색어 + 빈 검색창 추천어)
+     * 클라이언트 요청 한 번, Elasticsearch 조회도 최대 한 번(_msearch)으로 응답
+     */
+    @GetMapping("/home")
+    public CompletableFuture<ResponseEntity<HomeResponseDto>> home(@ModelAttribute HomeRequestDto request) {
         int limit = request.getLimit() == null ? 10 : request.getLimit();
-        List<RecentItemDto> items = prs.getRecent(limit).stream()
+        int suggestLimit = request.getSuggestLimit() == null ? 8 : request.getSuggestLimit();
+        PopularWindow window = parseWindow(request.getWindow());
+        return prs.getPopularAndRecentAsync(Math.max(limit, suggestLimit), window, Math.max(limit, suggestLimit))
+                .thenApply(pr -> ResponseEntity.ok(new HomeResponseDto(
+                        toPopularDto(head(pr.popular(), limit)),
+                        toRecentDto(head(pr.recent(), limit)),
+                        mixRecentAndPopular(pr, suggestLimit))));
+    }
+
+    private static PopularWindow parseWindow(String window) {
+        try {
+            return PopularWindow.from(window);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    static PopularResponseDto toPopularDto(PopularRecentService.Snapshot snapshot) {
+        List<PopularItemDto> items = snapshot.items().stream()
+                .map(m -> new PopularItemDto((String) m.get("keyword"),
+                        ((Number) m.getOrDefault("count", 0)).intValue(),
+                        ((Number) m.getOrDefault("error", 0L)).longValue()))
+                .collect(Collectors.toList());
+        return new PopularResponseDto(items, snapshot.ageMs());
+    }
+
+    static RecentResponseDto toRecentDto(PopularRecentService.Snapshot snapshot) {
+        List<RecentItemDto> items = snapshot.items().stream()
                 .map(m -> new RecentItemDto((String) m.get("keyword"), ((Number) m.getOrDefault("ts", 0L)).longValue()))
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(new RecentResponseDto(items));
+        return new RecentResponseDto(items, snapshot.ageMs());
+    }
+
+    private static PopularRecentService.Snapshot head(PopularRecentService.Snapshot snapshot, int limit) {
+        if (snapshot.items().size() <= limit) return snapshot;
+        return new PopularRecentService.Snapshot(snapshot.items().subList(0, limit), snapshot.ageMs());
+    }
+
+    /**
+     * 빈 검색창 추천어: 최근 검색어 다음 인기 검색어 (중복 제거)
+     */
+    private static List<String> mixRecentAndPopular(PopularRecentService.PopularRecent pr, int limit) {
+        Set<String> mixed = new LinkedHashSet<>();
+        pr.recent().items().forEach(m -> mixed.add((String) m.get("keyword")));
+        pr.popular().items().forEach(m -> mixed.add((String) m.get("keyword")));
+        return mixed.stream().limit(limit).collect(Collectors.toList());
     }
 
     @GetMapping("/suggest")
-    public ResponseEntity<SuggestResponseDto> suggest(@ModelAttribute SuggestRequestDto request) {
+    public CompletableFuture<ResponseEntity<SuggestResponseDto>> suggest(@ModelAttribute SuggestRequestDto request) {
         String prefix = request.getPrefix();
         int limit = request.getLimit() == null ? 8 : request.getLimit();
         String pfx = prefix == null ? "" : prefix.trim();
         if (pfx.isEmpty()) {
             // Return a mix of recent and popular when no prefix
-            Set<String> mixed = new LinkedHashSet<>();
-            prs.getRecent(limit).forEach(m -> mixed.add((String) m.get("keyword")));
-            prs.getPopular(limit).forEach(m -> mixed.add((String) m.get("keyword")));
-            List<String> list = mixed.stream().limit(limit).collect(Collectors.toList());
-            return ResponseEntity.ok(new SuggestResponseDto(list));
+            return prs.getPopularAndRecentAsync(limit, PopularWindow.ALL, limit)
+                    .thenApply(pr -> ResponseEntity.ok(new SuggestResponseDto(mixRecentAndPopular(pr, limit))));
         }
         // Try Elasticsearch-based suggestions first
-        try {
-            List<String> esSuggest = searchService.suggest(pfx, limit);
-            if (esSuggest != null && !esSuggest.isEmpty()) {
-                return ResponseEntity.ok(new SuggestResponseDto(esSuggest));
-            }
-        } catch (Exception ignored) {
-            // fall back silently
-        }
-        // Fallback: local recent + popular prefix filtering
+        return searchService.suggestAsync(pfx, limit)
+                // fall back silently
+                .exceptionally(e -> List.of())
+                .thenCompose(esSuggest -> esSuggest != null && !esSuggest.isEmpty()
+                        ? CompletableFuture.completedFuture(esSuggest)
+                        : fallbackSuggest(pfx, limit))
+                .thenApply(list -> ResponseEntity.ok(new SuggestResponseDto(list)));
+    }
+
+    /**
+     * Fallback: local recent + popular prefix filtering, then typo corrections
+     * 콜백은 Elasticsearch I/O 스레드에서 실행될 수 있으므로 동기(blocking) 호출 없이 조합
+     */
+    private CompletableFuture<List<String>> fallbackSuggest(String pfx, int limit) {
         String lower = pfx.toLowerCase();
-        Set<String> set = new LinkedHashSet<>();
-        prs.getRecent(50).stream()
-                .map(m -> (String) m.get("keyword"))
-                .filter(k -> k != null && k.toLowerCase().startsWith(lower))
-                .forEach(set::add);
-        prs.getPopular(50).stream()
-                .map(m -> (String) m.get("keyword"))
-                .filter(k -> k != null && k.toLowerCase().startsWith(lower))
-                .forEach(set::add);
-        List<String> list = set.stream().limit(limit).collect(Collectors.toList());
-        return ResponseEntity.ok(new SuggestResponseDto(list));
+        return prs.getPopularAndRecentAsync(50, PopularWindow.ALL, 50).thenApply(pr -> {
+            Set<String> set = new LinkedHashSet<>();
+            pr.recent().items().stream()
+                    .map(m -> (String) m.get("keyword"))
+                    .filter(k -> k != null && k.toLowerCase().startsWith(lower))
+                    .forEach(set::add);
+            pr.popular().items().stream()
+                    .map(m -> (String) m.get("keyword"))
+                    .filter(k -> k != null && k.toLowerCase().startsWith(lower))
+                    .forEach(set::add);
+            return set;
+        }).thenCompose(set -> {
+            if (!set.isEmpty()) {
+                return CompletableFuture.completedFuture(set.stream().limit(limit).collect(Collectors.toList()));
+            }
+            // Typo fallback: suggest for the closest dictionary terms (edit distance 1~2)
+            List<String> corrections = spellCorrection.correct(pfx, limit);
+            List<CompletableFuture<List<String>>> pending = corrections.stream()
+                    .map(corrected -> searchService.suggestAsync(corrected, limit).exceptionally(e -> List.of()))
+                    .toList();
+            return CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).thenApply(done -> {
+                Set<String> merged = new LinkedHashSet<>();
+                for (int i = 0; i < corrections.size(); i++) {
+                    merged.addAll(pending.get(i).join());
+                    // keep the correction itself
+                    merged.add(corrections.get(i));
+                }
+                return merged.stream().limit(limit).collect(Collectors.toList());
+            });
+        });
     }
 }
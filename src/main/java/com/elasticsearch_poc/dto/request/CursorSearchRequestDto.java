@@ -0,0 +1,15 @@
+package com.elasticsearch_poc.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorSearchRequestDto {
+    private String q;
+    private Integer size;
+    private String field;  // 선택한 검색 필드 (optional)
+    private String cursor; // 이전 응답의 nextCursor (첫 페이지는 생략)
+}
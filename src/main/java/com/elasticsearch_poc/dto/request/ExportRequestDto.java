@@ -0,0 +1,13 @@
+package com.elasticsearch_poc.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportRequestDto {
+    private String q;
+    private String field; // 선택한 검색 필드 (optional)
+}
@@ -0,0 +1,14 @@
+package com.elasticsearch_poc.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HomeRequestDto {
+    private Integer limit; // 인기/최근 검색어 수
+    private Integer suggestLimit; // 검색창 기본 추천어 수
+    private String window; // 인기 검색어 집계 구간: all(기본), 5m, 1h, 24h
+}
@@ -0,0 +1,13 @@
+package com.elasticsearch_poc.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PopularRequestDto {
+    private Integer limit;
+    private String window; // 집계 구간: all(기본), 5m, 1h, 24h
+}
\ No newline at end of file
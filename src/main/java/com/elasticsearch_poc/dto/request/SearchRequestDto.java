@@ -12,4 +12,6 @@ public class SearchRequestDto {
     private Integer size;
     private Integer page; // 1-based page number
     private String field; // 선택한 검색 필드 (optional)
+    private String fields; // 응답에 포함할 _source 필드, 쉼표 구분 (optional, view보다 우선)
+    private String view; // search.projection.views에 정의한 필드 프로필 이름 (optional)
 }
\ No newline at end of file
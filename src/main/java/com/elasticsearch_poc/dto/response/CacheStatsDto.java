@@ -0,0 +1,19 @@
+package com.elasticsearch_poc.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDto {
+    private boolean enabled;
+    private long size;         // 현재 캐시 항목 수 (추정)
+    private long hits;
+    private long misses;
+    private double hitRate;
+    private long evictions;    // 크기 제한/TTL로 제거된 항목 수
+}
@@ -0,0 +1,15 @@
+package com.elasticsearch_poc.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoalescingStatsDto {
+    private long searchCalls;        // 캐시 미스 후 Elasticsearch 검색이 필요했던 호출 수
+    private long searchCollapsed;    // 진행 중인 동일 검색에 합쳐진 호출 수
+    private long suggestCalls;
+    private long suggestCollapsed;
+}
@@ -0,0 +1,16 @@
+package com.elasticsearch_poc.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HomeResponseDto {
+    private PopularResponseDto popular;
+    private RecentResponseDto recent;
+    private List<String> suggestions; // 빈 검색창 추천어 (최근 + 인기 검색어)
+}
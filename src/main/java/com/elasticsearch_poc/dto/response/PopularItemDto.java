@@ -10,4 +10,5 @@ import lombok.NoArgsConstructor;
 public class PopularItemDto {
     private String keyword;
     private int count;
+    private long error; // 인메모리 Top-K 추정 오차 (Elasticsearch 집계는 0)
 }
\ No newline at end of file
@@ -11,4 +11,5 @@ import java.util.List;
 @AllArgsConstructor
 public class PopularResponseDto {
     private List<PopularItemDto> items;
+    private long snapshotAgeMs; // 응답 데이터가 만들어진 뒤 지난 시간 (ms)
 }
\ No newline at end of file
@@ -19,4 +19,5 @@ public class SearchResponseDto {
     private long total;        // total hits
     private int totalPages;    // total pages based on size
     private List<Map<String, Object>> results;
+    private String nextCursor; // cursor paging only: token for the next page (null on the last page)
 }
\ No newline at end of file
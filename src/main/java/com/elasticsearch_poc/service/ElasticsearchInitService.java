@@ -3,49 +3,70 @@ package com.elasticsearch_poc.service;
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
 import co.elastic.clients.elasticsearch.indices.ExistsRequest;
 import co.elastic.clients.elasticsearch.indices.CreateIndexRequest;
+import co.elastic.clients.elasticsearch.indices.PutIndexTemplateRequest;
 import co.elastic.clients.transport.endpoints.BooleanResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 
 /**
  * Elasticsearch 인덱스 초기화 서비스
- * 애플리케이션 시작 시 search_log 인덱스가 없으면 자동 생성
+ * 애플리케이션 시작 시 search_log 파티션 인덱스 템플릿과 search_log_rollup 인덱스를 준비
  */
 @Service
 public class ElasticsearchInitService {
 
     private static final Logger log = LoggerFactory.getLogger(ElasticsearchInitService.class);
-    private static final String SEARCH_LOG_INDEX = "search_log";
     
     private final ElasticsearchClient esClient;
 
     @Value("${elasticsearch.search-log-index:search_log}")
     private String searchLogIndex;
 
+    @Value("${elasticsearch.search-log-rollup-index:search_log_rollup}")
+    private String searchLogRollupIndex;
+
     public ElasticsearchInitService(ElasticsearchClient esClient) {
         this.esClient = esClient;
     }
 
     /**
-     * 애플리케이션 시작 후 search_log 인덱스 확인 및 생성
+     * 애플리케이션 시작 후 search_log 파티션용 인덱스 템플릿 생성/갱신
+     * 파티션 생성과 alias 관리는 SearchLogPartitionService에서 수행
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public void initializeSearchLogTemplate() {
+        try {
+            putSearchLogTemplate();
+            log.info("✅ search_log 인덱스 템플릿이 적용되었습니다.");
+        } catch (Exception e) {
+            log.error("❌ search_log 인덱스 템플릿 초기화 중 오류 발생: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 애플리케이션 시작 후 search_log_rollup 인덱스 확인 및 생성
+     * 검색 로그 consumer 시작(SearchLogPartitionService, @Order(10)) 전에 실행되어야 롤업 upsert가 동적 매핑 인덱스를 만들지 않음
      */
     @EventListener(ApplicationReadyEvent.class)
-    public void initializeSearchLogIndex() {
+    @Order(0)
+    public void initializeSearchLogRollupIndex() {
         try {
-            if (!indexExists(searchLogIndex)) {
-                createSearchLogIndex();
-                log.info("✅ search_log 인덱스가 성공적으로 생성되었습니다.");
+            if (!indexExists(searchLogRollupIndex)) {
+                createSearchLogRollupIndex();
+                log.info("✅ search_log_rollup 인덱스가 성공적으로 생성되었습니다.");
             } else {
-                log.info("ℹ️ search_log 인덱스가 이미 존재합니다.");
+                log.info("ℹ️ search_log_rollup 인덱스가 이미 존재합니다.");
             }
         } catch (Exception e) {
-            log.error("❌ search_log 인덱스 초기화 중 오류 발생: {}", e.getMessage(), e);
+            log.error("❌ search_log_rollup 인덱스 초기화 중 오류 발생: {}", e.getMessage(), e);
         }
     }
 
@@ -59,36 +80,77 @@ public class ElasticsearchInitService {
     }
 
     /**
-     * search_log 인덱스 생성
+     * search_log-* 파티션용 인덱스 템플릿 생성
+     * 새 파티션은 생성 시점에 매핑/설정과 읽기 alias(search_log)를 자동으로 적용받음
      */
-    private void createSearchLogIndex() throws IOException {
-        CreateIndexRequest request = CreateIndexRequest.of(c -> c
-            .index(searchLogIndex)
-            .mappings(m -> m
-                .properties("keyword", p -> p
-                    .text(t -> t
-                        .fields("keyword", f -> f
-                            .keyword(k -> k)
+    private void putSearchLogTemplate() throws IOException {
+        PutIndexTemplateRequest request = PutIndexTemplateRequest.of(t -> t
+            .name(searchLogIndex + "_template")
+            .indexPatterns(searchLogIndex + "-*")
+            .priority(100L)
+            .template(tm -> tm
+                .aliases(searchLogIndex, a -> a)
+                .mappings(m -> m
+                    .properties("keyword", p -> p
+                        .text(tx -> tx
+                            .fields("keyword", f -> f
+                                .keyword(k -> k)
+                            )
+                        )
+                    )
+                    .properties("userId", p -> p
+                        .keyword(k -> k)
+                    )
+                    .properties("timestamp", p -> p
+                        .date(d -> d
+                            .format("strict_date_optional_time||epoch_millis")
                         )
                     )
                 )
-                .properties("userId", p -> p
+                .settings(s -> s
+                    .numberOfShards("1")
+                    .numberOfReplicas("1")
+                    .maxResultWindow(10000)
+                )
+            )
+        );
+
+        esClient.indices().putIndexTemplate(request);
+        log.info("🔧 search_log 인덱스 템플릿 적용 완료: {}-*", searchLogIndex);
+    }
+
+    /**
+     * search_log_rollup 인덱스 생성
+     * 검색어 x 시간 단위 문서 하나에 검색 횟수(count)를 누적
+     * applied에 토픽-파티션별 마지막 반영 오프셋을 두어 배치 재처리 시 중복 집계 방지
+     */
+    private void createSearchLogRollupIndex() throws IOException {
+        CreateIndexRequest request = CreateIndexRequest.of(c -> c
+            .index(searchLogRollupIndex)
+            .mappings(m -> m
+                .properties("keyword", p -> p
                     .keyword(k -> k)
                 )
-                .properties("timestamp", p -> p
+                .properties("hour", p -> p
                     .date(d -> d
                         .format("strict_date_optional_time||epoch_millis")
                     )
                 )
+                .properties("count", p -> p
+                    .long_(l -> l)
+                )
+                // 파티션별 마지막 반영 오프셋 (중복 집계 방지용, 검색/집계 대상 아님)
+                .properties("applied", p -> p
+                    .object(o -> o.enabled(false))
+                )
             )
             .settings(s -> s
                 .numberOfShards("1")
                 .numberOfReplicas("1")
-                .maxResultWindow(10000)
             )
         );
 
         esClient.indices().create(request);
-        log.info("🔧 search_log 인덱스 생성 완료: {}", searchLogIndex);
+        log.info("🔧 search_log_rollup 인덱스 생성 완료: {}", searchLogRollupIndex);
     }
 }
@@ -1,20 +1,33 @@
 package com.elasticsearch_poc.service;
 
-import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
 import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
 import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
-import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.MsearchRequest;
+import co.elastic.clients.elasticsearch.core.MsearchResponse;
+import co.elastic.clients.elasticsearch.core.msearch.MultiSearchResponseItem;
+import co.elastic.clients.elasticsearch.core.msearch.RequestItem;
+import co.elastic.clients.elasticsearch.core.search.ResponseBody;
+import co.elastic.clients.util.NamedValue;
+import com.elasticsearch_poc.service.popular.HeavyHitter;
+import com.elasticsearch_poc.service.popular.HeavyHitterTracker;
+import com.elasticsearch_poc.service.popular.PopularWindow;
+import com.elasticsearch_poc.service.popular.RecentRingBuffer;
+import com.elasticsearch_poc.service.popular.TopKSnapshot;
+import com.elasticsearch_poc.service.popular.WindowedHeavyHitters;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedDeque;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 /**
  * 인기 검색어 및 최근 검색어 관리 서비스
@@ -26,20 +39,58 @@ public class PopularRecentService {
     private static final Logger log = LoggerFactory.getLogger(PopularRecentService.class);
 
     // 인메모리 저장소 (빠른 실시간 조회용)
-    private final ConcurrentHashMap<String, AtomicInteger> popularCounts = new ConcurrentHashMap<>();
-    private final ConcurrentLinkedDeque<SearchEntry> recent = new ConcurrentLinkedDeque<>();
-    private final int recentMax = 100;
+    // 인기 검색어는 고정 메모리 Top-K 엔진으로 추적 (롱테일 검색어로 인한 무한 증가 방지)
+    private final HeavyHitterTracker popularTracker;
+    // 조회는 주기적으로 발행되는 정렬 스냅샷에서 수행 (요청마다 정렬하지 않음)
+    private volatile TopKSnapshot popularSnapshot = TopKSnapshot.EMPTY;
+    // 구간별(5분/1시간/24시간) 인기 검색어는 시간 버킷 링으로 추적
+    private final WindowedHeavyHitters windowedTracker;
+    private volatile Map<PopularWindow, TopKSnapshot> windowSnapshots = Map.of();
+    // 최근 검색어는 고정 크기 lock-free 링 버퍼에 기록
+    private final RecentRingBuffer recent;
 
-    private final ElasticsearchClient esClient;
-    
-    @Value("${elasticsearch.search-log-index:search_log}")
-    private String searchLogIndex;
+    // 조회 요청 스레드가 Elasticsearch 응답을 기다리지 않도록 비동기 클라이언트 사용
+    private final ElasticsearchAsyncClient esClient;
+    private final SearchLogPartitionService partitionService;
+
+    @Value("${elasticsearch.search-log-rollup-index:search_log_rollup}")
+    private String searchLogRollupIndex;
 
     @Value("${popular.use-elasticsearch:true}")
     private boolean useElasticsearch;
 
-    public PopularRecentService(ElasticsearchClient esClient) {
+    // true: 전체/24시간 인기 검색어를 시간별 롤업 인덱스에서 집계
+    @Value("${popular.use-rollup:true}")
+    private boolean useRollup;
+
+    // 인기 검색어 조회 최대 항목 수 (요청 limit 상한, 인메모리/Elasticsearch 스냅샷 크기)
+    @Value("${popular.max-limit:100}")
+    private int maxLimit;
+
+    // true: Elasticsearch 집계 결과를 주기적으로 스냅샷에 적재하여 요청은 스냅샷으로만 응답
+    @Value("${popular.es-snapshot.enabled:true}")
+    private boolean esSnapshotEnabled;
+
+    // Elasticsearch 집계 스냅샷 (첫 갱신 전에는 null)
+    private volatile EsSnapshot esSnapshot;
+
+    public PopularRecentService(ElasticsearchAsyncClient esClient,
+                                SearchLogPartitionService partitionService,
+                                HeavyHitterTracker popularTracker,
+                                WindowedHeavyHitters windowedTracker,
+                                RecentRingBuffer recent) {
         this.esClient = esClient;
+        this.partitionService = partitionService;
+        this.popularTracker = popularTracker;
+        this.windowedTracker = windowedTracker;
+        this.recent = recent;
+    }
+
+    /**
+     * 최대 조회 수 지정 (Spring 밖에서 구성하는 벤치마크용, 운영에서는 popular.max-limit)
+     */
+    void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
     }
 
     /**
@@ -50,166 +101,471 @@ public class PopularRecentService {
         String keyword = q.trim();
         
         // 인메모리 통계 업데이트
-        popularCounts.computeIfAbsent(keyword, k -> new AtomicInteger(0)).incrementAndGet();
-        recent.addFirst(new SearchEntry(keyword, Instant.now().toEpochMilli()));
-        
-        while (recent.size() > recentMax) {
-            recent.removeLast();
+        long now = Instant.now().toEpochMilli();
+        popularTracker.offer(keyword);
+        windowedTracker.offer(keyword, now);
+        recent.add(keyword, now);
+    }
+
+    /**
+     * 인메모리 인기 검색어 순위 스냅샷 재발행
+     * 마지막 발행 이후 기록된 검색어가 없으면 정렬 없이 발행 시각만 갱신
+     */
+    @Scheduled(fixedDelayString = "${popular.memory.snapshot-interval-ms:200}")
+    public void publishPopularSnapshot() {
+        long now = Instant.now().toEpochMilli();
+        long version = popularTracker.totalCount();
+        TopKSnapshot current = popularSnapshot;
+        if (version == current.version()) {
+            popularSnapshot = new TopKSnapshot(version, now, current.items());
+            return;
         }
+        int size = Math.min(maxLimit, popularTracker.capacity());
+        popularSnapshot = new TopKSnapshot(version, now, popularTracker.topK(size));
     }
 
     /**
-     * 인기 검색어 조회
-     * - useElasticsearch=true: Elasticsearch 집계 사용 (영구 데이터 기반)
-     * - useElasticsearch=false: 인메모리 데이터 사용 (실시간)
+     * 구간별 인기 검색어 스냅샷 재발행
+     * 구간은 시간이 지나면 밀려나므로 새 기록이 없어도 매번 다시 합산
+     */
+    @Scheduled(fixedDelayString = "${popular.window.snapshot-interval-ms:1000}")
+    public void publishWindowSnapshots() {
+        long now = Instant.now().toEpochMilli();
+        Map<PopularWindow, TopKSnapshot> snapshots = new EnumMap<>(PopularWindow.class);
+        for (PopularWindow window : PopularWindow.values()) {
+            if (window == PopularWindow.ALL) continue;
+            snapshots.put(window, new TopKSnapshot(now, now, windowedTracker.topK(window, maxLimit, now)));
+        }
+        windowSnapshots = snapshots;
+    }
+
+    /**
+     * Elasticsearch 집계 결과 스냅샷 갱신 (stale-while-revalidate)
+     * - 요청 처리와 무관하게 일정 주기로만 Elasticsearch를 조회하므로 조회 트래픽이 늘어도 부하는 일정
+     * - 구간별 집계와 최근 검색어 조회를 하나의 _msearch로 보내 한 번의 왕복으로 갱신
+     * - 갱신에 실패하면 이전 스냅샷을 계속 제공
+     */
+    @Scheduled(fixedDelayString = "${popular.es-snapshot.refresh-interval-ms:5000}")
+    public void refreshElasticsearchSnapshot() {
+        if (!useElasticsearch || !esSnapshotEnabled) return;
+        try {
+            PopularWindow[] windows = PopularWindow.values();
+            List<EsQuery> queries = new ArrayList<>(windows.length + 1);
+            for (PopularWindow window : windows) {
+                queries.add(popularQuery(maxLimit, window));
+            }
+            queries.add(recentQuery(recent.capacity()));
+            List<CompletableFuture<List<Map<String, Object>>>> pending = msearch(queries);
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+
+            Map<PopularWindow, List<Map<String, Object>>> popular = new EnumMap<>(PopularWindow.class);
+            for (int i = 0; i < windows.length; i++) {
+                popular.put(windows[i], List.copyOf(pending.get(i).join()));
+            }
+            List<Map<String, Object>> recentItems = List.copyOf(pending.get(windows.length).join());
+            esSnapshot = new EsSnapshot(popular, recentItems, Instant.now().toEpochMilli());
+        } catch (Exception e) {
+            EsSnapshot current = esSnapshot;
+            log.warn("Elasticsearch 스냅샷 갱신 실패, 이전 스냅샷 유지 (age={}ms): {}",
+                    current == null ? -1 : Instant.now().toEpochMilli() - current.fetchedAt(), e.getMessage());
+        }
+    }
+
+    /**
+     * Elasticsearch 집계 스냅샷 경과 시간 (스냅샷이 없으면 -1)
+     */
+    public long esSnapshotAgeMs() {
+        EsSnapshot snapshot = esSnapshot;
+        return snapshot == null ? -1 : Instant.now().toEpochMilli() - snapshot.fetchedAt();
+    }
+
+    /**
+     * 인기 검색어 조회 (전체 기간)
      */
     public List<Map<String, Object>> getPopular(int limit) {
-        int lim = limit <= 0 ? 10 : limit;
-        
+        return getPopular(limit, PopularWindow.ALL);
+    }
+
+    /**
+     * 구간별 인기 검색어 조회
+     */
+    public List<Map<String, Object>> getPopular(int limit, PopularWindow window) {
+        return getPopularSnapshot(limit, window).items();
+    }
+
+    /**
+     * 구간별 인기 검색어 조회 (스냅샷 경과 시간 포함)
+     */
+    public Snapshot getPopularSnapshot(int limit, PopularWindow window) {
+        return getPopularAsync(limit, window).join();
+    }
+
+    /**
+     * 구간별 인기 검색어 조회 (비동기, 스냅샷 경과 시간 포함)
+     * - useElasticsearch=true: Elasticsearch 집계 스냅샷 사용 (영구 데이터 기반)
+     * - useElasticsearch=false: 인메모리 Top-K 스냅샷 사용 (실시간)
+     * 스냅샷/인메모리 조회는 즉시 완료, 스냅샷을 끈 경우에만 Elasticsearch 응답 시 완료
+     * limit은 popular.max-limit으로 제한 (스냅샷에 그 이상은 없으므로 모든 모드에서 같은 상한 적용)
+     */
+    public CompletableFuture<Snapshot> getPopularAsync(int limit, PopularWindow window) {
+        int lim = clampPopularLimit(limit);
+        long now = Instant.now().toEpochMilli();
+
         if (useElasticsearch) {
-            try {
-                return getPopularFromElasticsearch(lim);
-            } catch (Exception e) {
-                log.error("Elasticsearch 인기 검색어 조회 실패, 인메모리 데이터 사용: {}", e.getMessage());
-                return getPopularFromMemory(lim);
+            if (esSnapshotEnabled) {
+                EsSnapshot snapshot = esSnapshot;
+                if (snapshot != null) {
+                    return CompletableFuture.completedFuture(
+                            new Snapshot(head(snapshot.popular().get(window), lim), now - snapshot.fetchedAt()));
+                }
+                // 첫 갱신 전에는 인메모리 데이터 사용
+                return CompletableFuture.completedFuture(getPopularFromMemory(lim, window, now));
             }
+            return queryPopular(lim, window)
+                    .thenApply(items -> new Snapshot(items, 0))
+                    .exceptionally(e -> {
+                        log.error("Elasticsearch 인기 검색어 조회 실패, 인메모리 데이터 사용: {}", e.getMessage());
+                        return getPopularFromMemory(lim, window, Instant.now().toEpochMilli());
+                    });
         } else {
-            return getPopularFromMemory(lim);
+            return CompletableFuture.completedFuture(getPopularFromMemory(lim, window, now));
         }
     }
 
     /**
      * 최근 검색어 조회
-     * - useElasticsearch=true: Elasticsearch에서 조회 (영구 데이터 기반)
-     * - useElasticsearch=false: 인메모리 데이터 사용 (실시간)
      */
     public List<Map<String, Object>> getRecent(int limit) {
-        int lim = limit <= 0 ? recentMax : Math.min(limit, recentMax);
-        
+        return getRecentSnapshot(limit).items();
+    }
+
+    /**
+     * 최근 검색어 조회 (스냅샷 경과 시간 포함)
+     * - useElasticsearch=true: Elasticsearch 조회 스냅샷 사용 (영구 데이터 기반)
+     * - useElasticsearch=false: 인메모리 데이터 사용 (실시간)
+     */
+    public Snapshot getRecentSnapshot(int limit) {
+        return getRecentAsync(limit).join();
+    }
+
+    /**
+     * 최근 검색어 조회 (비동기, 스냅샷 경과 시간 포함)
+     */
+    public CompletableFuture<Snapshot> getRecentAsync(int limit) {
+        int lim = limit <= 0 ? recent.capacity() : Math.min(limit, recent.capacity());
+
         if (useElasticsearch) {
-            try {
-                return getRecentFromElasticsearch(lim);
-            } catch (Exception e) {
-                log.error("Elasticsearch 최근 검색어 조회 실패, 인메모리 데이터 사용: {}", e.getMessage());
-                return getRecentFromMemory(lim);
+            if (esSnapshotEnabled) {
+                EsSnapshot snapshot = esSnapshot;
+                if (snapshot != null) {
+                    return CompletableFuture.completedFuture(
+                            new Snapshot(head(snapshot.recent(), lim), Instant.now().toEpochMilli() - snapshot.fetchedAt()));
+                }
+                return CompletableFuture.completedFuture(new Snapshot(getRecentFromMemory(lim), 0));
             }
+            return getRecentFromElasticsearch(lim)
+                    .thenApply(items -> new Snapshot(items, 0))
+                    .exceptionally(e -> {
+                        log.error("Elasticsearch 최근 검색어 조회 실패, 인메모리 데이터 사용: {}", e.getMessage());
+                        return new Snapshot(getRecentFromMemory(lim), 0);
+                    });
         } else {
-            return getRecentFromMemory(lim);
+            return CompletableFuture.completedFuture(new Snapshot(getRecentFromMemory(lim), 0));
+        }
+    }
+
+    /**
+     * 인기 검색어 + 최근 검색어 동시 조회 (홈 화면, 빈 접두어 자동완성)
+     * 스냅샷/인메모리 모드는 즉시 완료, Elasticsearch 직접 조회 모드는 두 조회를 하나의 _msearch로 전송
+     * 한쪽 조회만 실패하면 그쪽만 인메모리 데이터로 대체
+     */
+    public CompletableFuture<PopularRecent> getPopularAndRecentAsync(int popularLimit, PopularWindow window, int recentLimit) {
+        if (!useElasticsearch || esSnapshotEnabled) {
+            return getPopularAsync(popularLimit, window).thenCombine(getRecentAsync(recentLimit), PopularRecent::new);
         }
+        int popularLim = clampPopularLimit(popularLimit);
+        int recentLim = recentLimit <= 0 ? recent.capacity() : Math.min(recentLimit, recent.capacity());
+        List<CompletableFuture<List<Map<String, Object>>>> pending =
+                msearch(List.of(popularQuery(popularLim, window), recentQuery(recentLim)));
+        CompletableFuture<Snapshot> popular = pending.get(0)
+                .thenApply(items -> new Snapshot(items, 0))
+                .exceptionally(e -> getPopularFromMemory(popularLim, window, Instant.now().toEpochMilli()));
+        CompletableFuture<Snapshot> recentSnapshot = pending.get(1)
+                .thenApply(items -> new Snapshot(items, 0))
+                .exceptionally(e -> new Snapshot(getRecentFromMemory(recentLim), 0));
+        return popular.thenCombine(recentSnapshot, PopularRecent::new);
+    }
+
+    /**
+     * 요청 limit 정규화 (기본 10, 최대 popular.max-limit)
+     */
+    private int clampPopularLimit(int limit) {
+        return limit <= 0 ? Math.min(10, maxLimit) : Math.min(limit, maxLimit);
+    }
+
+    /**
+     * 구간에 맞는 Elasticsearch 인기 검색어 집계 (롤업 또는 원본 파티션)
+     */
+    private CompletableFuture<List<Map<String, Object>>> queryPopular(int limit, PopularWindow window) {
+        return msearch(List.of(popularQuery(limit, window))).get(0);
+    }
+
+    private CompletableFuture<List<Map<String, Object>>> getRecentFromElasticsearch(int limit) {
+        return msearch(List.of(recentQuery(limit))).get(0);
+    }
+
+    private static List<Map<String, Object>> head(List<Map<String, Object>> items, int limit) {
+        if (items == null) return List.of();
+        return items.size() > limit ? items.subList(0, limit) : items;
+    }
+
+    /**
+     * 여러 조회를 하나의 _msearch 요청으로 전송 (조회별 결과/실패는 각각의 future로 전달)
+     */
+    private List<CompletableFuture<List<Map<String, Object>>>> msearch(List<EsQuery> queries) {
+        MsearchRequest request = MsearchRequest.of(m -> m
+            .searches(queries.stream().map(EsQuery::item).toList())
+        );
+        CompletableFuture<MsearchResponse<Map>> response = esClient.msearch(request, Map.class);
+        List<CompletableFuture<List<Map<String, Object>>>> results = new ArrayList<>(queries.size());
+        for (int i = 0; i < queries.size(); i++) {
+            final int idx = i;
+            EsQuery query = queries.get(i);
+            results.add(response.thenApply(r -> {
+                MultiSearchResponseItem<Map> item = r.responses().get(idx);
+                if (item.isFailure()) {
+                    throw new IllegalStateException(item.failure().error().reason());
+                }
+                List<Map<String, Object>> result = query.parser().apply(item.result());
+                log.debug("Elasticsearch {} 조회: {} 건", query.name(), result.size());
+                return result;
+            }).whenComplete((result, e) -> {
+                if (e != null) log.error("Elasticsearch {} 조회 실패: {}", query.name(), e.getMessage(), e);
+            }));
+        }
+        return results;
+    }
+
+    private EsQuery popularQuery(int limit, PopularWindow window) {
+        if (useRollup && coveredByRollup(window)) {
+            return popularFromRollupQuery(limit, window);
+        }
+        return popularFromElasticsearchQuery(limit, window);
     }
 
     /**
      * Elasticsearch Terms Aggregation을 통한 인기 검색어 조회
+     * 구간이 지정되면 해당 구간의 파티션만 대상으로 timestamp 범위로 필터링한 문서만 집계
      */
-    private List<Map<String, Object>> getPopularFromElasticsearch(int limit) {
-        try {
-            SearchResponse<Void> response = esClient.search(s -> s
-                .index(searchLogIndex)
+    private EsQuery popularFromElasticsearchQuery(int limit, PopularWindow window) {
+        Query query = window.esLowerBound() == null
+                ? Query.of(q -> q.matchAll(m -> m))
+                : Query.of(q -> q
+                    .range(r -> r
+                        .date(d -> d
+                            .field("timestamp")
+                            .gte(window.esLowerBound())
+                        )
+                    )
+                );
+        List<String> indices = partitionService.indicesFor(window);
+        RequestItem item = RequestItem.of(r -> r
+            .header(h -> h
+                .index(indices)
+                .ignoreUnavailable(true)
+                .allowNoIndices(true)
+            )
+            .body(b -> b
                 .size(0)  // 문서 자체는 필요 없음
+                .query(query)
                 .aggregations("popular_keywords", a -> a
                     .terms(t -> t
                         .field("keyword.keyword")
                         .size(limit)
                     )
-                ),
-                Void.class
-            );
-
+                )
+            )
+        );
+        return new EsQuery("인기 검색어", item, response -> {
             List<Map<String, Object>> result = new ArrayList<>();
-            
-            if (response.aggregations() != null && 
+
+            if (response.aggregations() != null &&
                 response.aggregations().get("popular_keywords") != null) {
-                
+
                 var termsAgg = response.aggregations().get("popular_keywords").sterms();
-                
+
                 for (StringTermsBucket bucket : termsAgg.buckets().array()) {
-                    Map<String, Object> item = new HashMap<>();
-                    item.put("keyword", bucket.key().stringValue());
-                    item.put("count", bucket.docCount());
-                    result.add(item);
+                    Map<String, Object> entry = new HashMap<>();
+                    entry.put("keyword", bucket.key().stringValue());
+                    entry.put("count", bucket.docCount());
+                    result.add(entry);
                 }
             }
+            return result;
+        });
+    }
+
+    /**
+     * 롤업 문서는 시간 단위이므로 1시간 미만 구간은 원본 인덱스에서 집계
+     */
+    private boolean coveredByRollup(PopularWindow window) {
+        return window.duration() == null || window.duration().compareTo(Duration.ofHours(24)) >= 0;
+    }
+
+    /**
+     * search_log_rollup(검색어 x 시간 문서)의 count 합계로 인기 검색어 조회
+     * 원본 이벤트 수가 아니라 롤업 문서 수에 비례하는 비용으로 집계
+     */
+    private EsQuery popularFromRollupQuery(int limit, PopularWindow window) {
+        Query query = window.esLowerBound() == null
+                ? Query.of(q -> q.matchAll(m -> m))
+                : Query.of(q -> q
+                    .range(r -> r
+                        .date(d -> d
+                            .field("hour")
+                            .gte(window.esLowerBound() + "/h")
+                        )
+                    )
+                );
+        RequestItem item = RequestItem.of(r -> r
+            .header(h -> h
+                .index(searchLogRollupIndex)
+            )
+            .body(b -> b
+                .size(0)
+                .query(query)
+                .aggregations("popular_keywords", a -> a
+                    .terms(t -> t
+                        .field("keyword")
+                        .size(limit)
+                        .order(List.of(NamedValue.of("total", SortOrder.Desc)))
+                    )
+                    .aggregations("total", Aggregation.of(sa -> sa
+                        .sum(sum -> sum.field("count"))
+                    ))
+                )
+            )
+        );
+        return new EsQuery("롤업 인기 검색어", item, response -> {
+            List<Map<String, Object>> result = new ArrayList<>();
+
+            if (response.aggregations() != null &&
+                response.aggregations().get("popular_keywords") != null) {
 
-            log.info("📊 Elasticsearch 인기 검색어 조회: {} 건", result.size());
+                var termsAgg = response.aggregations().get("popular_keywords").sterms();
+
+                for (StringTermsBucket bucket : termsAgg.buckets().array()) {
+                    Map<String, Object> entry = new HashMap<>();
+                    entry.put("keyword", bucket.key().stringValue());
+                    entry.put("count", (long) bucket.aggregations().get("total").sum().value());
+                    result.add(entry);
+                }
+            }
             return result;
-            
-        } catch (Exception e) {
-            log.error("Elasticsearch 인기 검색어 조회 실패: {}", e.getMessage(), e);
-            throw new RuntimeException("인기 검색어 조회 실패", e);
-        }
+        });
     }
 
     /**
      * Elasticsearch에서 최근 검색어 조회
+     * 검색이 뜸했던 날이 있어도 최신 문서를 찾도록 읽기 alias 전체를 대상으로 하고,
+     * 보관 기간 timestamp 범위로 걸러 범위 밖 샤드는 조회 전에 제외
      */
-    private List<Map<String, Object>> getRecentFromElasticsearch(int limit) {
-        try {
-            SearchResponse<Map> response = esClient.search(s -> s
-                .index(searchLogIndex)
+    private EsQuery recentQuery(int limit) {
+        RequestItem item = RequestItem.of(r -> r
+            .header(h -> h
+                .index(partitionService.readAlias())
+                .ignoreUnavailable(true)
+                .allowNoIndices(true)
+            )
+            .body(b -> b
                 .size(limit)
+                .query(q -> q
+                    .range(ra -> ra
+                        .date(d -> d
+                            .field("timestamp")
+                            .gte(partitionService.retentionLowerBound())
+                        )
+                    )
+                )
                 .sort(so -> so
                     .field(f -> f
                         .field("timestamp")
                         .order(SortOrder.Desc)
                     )
-                ),
-                Map.class
-            );
-
+                )
+            )
+        );
+        return new EsQuery("최근 검색어", item, response -> {
             List<Map<String, Object>> result = new ArrayList<>();
-            
+
             if (response.hits() != null && response.hits().hits() != null) {
                 response.hits().hits().forEach(hit -> {
-                    if (hit.source() != null) {
-                        Map<String, Object> source = hit.source();
-                        Map<String, Object> item = new HashMap<>();
-                        item.put("keyword", source.get("keyword"));
-                        item.put("ts", source.get("timestamp"));
-                        result.add(item);
+                    if (hit.source() instanceof Map<?, ?> source) {
+                        Map<String, Object> entry = new HashMap<>();
+                        entry.put("keyword", source.get("keyword"));
+                        entry.put("ts", source.get("timestamp"));
+                        result.add(entry);
                     }
                 });
             }
-
-            log.info("📊 Elasticsearch 최근 검색어 조회: {} 건", result.size());
             return result;
-            
-        } catch (Exception e) {
-            log.error("Elasticsearch 최근 검색어 조회 실패: {}", e.getMessage(), e);
-            throw new RuntimeException("최근 검색어 조회 실패", e);
-        }
+        });
     }
 
     /**
      * 인메모리 기반 인기 검색어 조회
+     * - count: 추정 빈도, error: 추정 빈도의 최대 오차
      */
-    private List<Map<String, Object>> getPopularFromMemory(int limit) {
-        return popularCounts.entrySet().stream()
-                .sorted(Comparator.<Map.Entry<String, AtomicInteger>>comparingInt(e -> e.getValue().get()).reversed())
-                .limit(limit)
-                .map(e -> {
-                    Map<String, Object> m = new HashMap<>();
-                    m.put("keyword", e.getKey());
-                    m.put("count", e.getValue().get());
-                    return m;
-                })
-                .collect(Collectors.toList());
+    private Snapshot getPopularFromMemory(int limit, PopularWindow window, long now) {
+        TopKSnapshot snapshot = window == PopularWindow.ALL
+                ? popularSnapshot
+                : windowSnapshots.getOrDefault(window, TopKSnapshot.EMPTY);
+        List<HeavyHitter> top = snapshot.top(limit);
+        List<Map<String, Object>> list = new ArrayList<>(top.size());
+        for (HeavyHitter hh : top) {
+            Map<String, Object> m = new HashMap<>();
+            m.put("keyword", hh.keyword());
+            m.put("count", hh.count());
+            m.put("error", hh.error());
+            list.add(m);
+        }
+        return new Snapshot(list, snapshot.publishedAt() == 0 ? 0 : now - snapshot.publishedAt());
     }
 
     /**
      * 인메모리 기반 최근 검색어 조회
      */
     private List<Map<String, Object>> getRecentFromMemory(int limit) {
-        List<Map<String, Object>> list = new ArrayList<>();
-        int i = 0;
-        for (SearchEntry se : new ArrayDeque<>(recent)) {
-            if (i++ >= limit) break;
+        List<RecentRingBuffer.Entry> entries = recent.newest(limit);
+        List<Map<String, Object>> list = new ArrayList<>(entries.size());
+        for (RecentRingBuffer.Entry se : entries) {
             Map<String, Object> m = new HashMap<>();
-            m.put("keyword", se.keyword);
-            m.put("ts", se.ts);
+            m.put("keyword", se.keyword());
+            m.put("ts", se.ts());
             list.add(m);
         }
         return list;
     }
 
-    private record SearchEntry(String keyword, long ts) {}
+    /**
+     * 조회 결과와 데이터 경과 시간
+     * @param ageMs 데이터가 만들어진 뒤 지난 시간 (실시간 조회는 0)
+     */
+    public record Snapshot(List<Map<String, Object>> items, long ageMs) {}
+
+    /**
+     * 인기 검색어 + 최근 검색어 동시 조회 결과
+     */
+    public record PopularRecent(Snapshot popular, Snapshot recent) {}
+
+    /**
+     * _msearch 항목 하나와 응답 변환
+     * @param name 로그용 조회 이름
+     */
+    private record EsQuery(String name, RequestItem item,
+                           Function<ResponseBody<?>, List<Map<String, Object>>> parser) {}
+
+    private record EsSnapshot(Map<PopularWindow, List<Map<String, Object>>> popular,
+                              List<Map<String, Object>> recent,
+                              long fetchedAt) {}
 }
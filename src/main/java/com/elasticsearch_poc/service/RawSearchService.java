@@ -0,0 +1,157 @@
+package com.elasticsearch_poc.service;
+
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.json.JsonpMapper;
+import co.elastic.clients.transport.rest_client.RestClientTransport;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import jakarta.json.stream.JsonGenerator;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.RestClient;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 원본(raw) 검색 응답 스트리밍
+ * - 검색 요청은 Java API Client 타입(SearchRequest)으로 만들고 low-level RestClient로 전송
+ * - filter_path로 필요한 필드만 받고, 응답을 Map으로 역직렬화하지 않고 토큰 단위로 읽으며 각 hit의 _source를 핸들러에 전달
+ * - 핸들러는 JsonGenerator.copyCurrentStructure로 _source를 그대로 출력 스트림에 복사 (중간 Map 트리 없음)
+ */
+@Service
+public class RawSearchService {
+
+    /**
+     * hit 단위 콜백
+     */
+    public interface HitHandler {
+        /**
+         * 전체 건수 (filter_path에 hits.total.value가 있을 때, 첫 _source보다 먼저 호출)
+         */
+        default void total(long total) throws IOException {
+        }
+
+        /**
+         * parser가 _source 객체의 START_OBJECT에 위치한 상태로 호출, 반환 시 객체 끝까지 소비해야 함
+         */
+        void source(JsonParser parser) throws IOException;
+    }
+
+    /**
+     * 응답 요약
+     * @param pitId 갱신된 PIT ID (PIT 검색이 아니면 null)
+     * @param hits 이번 응답의 hit 수
+     * @param lastSort 마지막 hit의 정렬 값 (search_after용)
+     */
+    public record RawPage(String pitId, int hits, List<Object> lastSort) {}
+
+    private final RestClient restClient;
+    private final JsonpMapper jsonpMapper;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public RawSearchService(RestClient restClient, RestClientTransport transport) {
+        this.restClient = restClient;
+        this.jsonpMapper = transport.jsonpMapper();
+    }
+
+    /**
+     * @param index 대상 인덱스 (PIT 검색이면 null)
+     * @param filterPath 응답 필터 (예: hits.total.value,hits.hits._source)
+     */
+    public RawPage search(String index, SearchRequest request, String filterPath, HitHandler handler) throws IOException {
+        Request req = new Request("POST", index == null ? "/_search" : "/" + index + "/_search");
+        req.addParameter("filter_path", filterPath);
+        req.setJsonEntity(toJson(request));
+        Response response = restClient.performRequest(req);
+        try (InputStream in = response.getEntity().getContent();
+             JsonParser parser = jsonFactory.createParser(in)) {
+            return read(parser, handler);
+        }
+    }
+
+    private String toJson(SearchRequest request) {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = jsonpMapper.jsonProvider().createGenerator(writer)) {
+            request.serialize(generator, jsonpMapper);
+        }
+        return writer.toString();
+    }
+
+    private RawPage read(JsonParser p, HitHandler handler) throws IOException {
+        String pitId = null;
+        int[] hits = {0};
+        List<Object> lastSort = null;
+        if (p.nextToken() != JsonToken.START_OBJECT) {
+            return new RawPage(null, 0, null);
+        }
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            p.nextToken();
+            if ("pit_id".equals(name)) {
+                pitId = p.getText();
+            } else if ("hits".equals(name) && p.currentToken() == JsonToken.START_OBJECT) {
+                lastSort = readHits(p, handler, hits);
+            } else {
+                p.skipChildren();
+            }
+        }
+        return new RawPage(pitId, hits[0], lastSort);
+    }
+
+    private List<Object> readHits(JsonParser p, HitHandler handler, int[] count) throws IOException {
+        List<Object> lastSort = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            p.nextToken();
+            if ("total".equals(name) && p.currentToken() == JsonToken.START_OBJECT) {
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String totalField = p.currentName();
+                    p.nextToken();
+                    if ("value".equals(totalField)) handler.total(p.getLongValue());
+                    else p.skipChildren();
+                }
+            } else if ("hits".equals(name) && p.currentToken() == JsonToken.START_ARRAY) {
+                while (p.nextToken() == JsonToken.START_OBJECT) {
+                    List<Object> sort = readHit(p, handler);
+                    if (sort != null) lastSort = sort;
+                    count[0]++;
+                }
+            } else {
+                p.skipChildren();
+            }
+        }
+        return lastSort;
+    }
+
+    private List<Object> readHit(JsonParser p, HitHandler handler) throws IOException {
+        List<Object> sort = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            p.nextToken();
+            if ("_source".equals(name) && p.currentToken() == JsonToken.START_OBJECT) {
+                handler.source(p);
+            } else if ("sort".equals(name) && p.currentToken() == JsonToken.START_ARRAY) {
+                sort = new ArrayList<>();
+                while (p.nextToken() != JsonToken.END_ARRAY) {
+                    sort.add(switch (p.currentToken()) {
+                        case VALUE_NUMBER_INT -> p.getLongValue();
+                        case VALUE_NUMBER_FLOAT -> p.getDoubleValue();
+                        case VALUE_TRUE -> Boolean.TRUE;
+                        case VALUE_FALSE -> Boolean.FALSE;
+                        case VALUE_NULL -> null;
+                        default -> p.getText();
+                    });
+                }
+            } else {
+                p.skipChildren();
+            }
+        }
+        return sort;
+    }
+}
@@ -0,0 +1,126 @@
+package com.elasticsearch_poc.service;
+
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 커서 페이징 상태 (PIT + search_after)
+ * 클라이언트에는 base64url로 인코딩한 불투명 토큰으로 전달 ("내용.HMAC-SHA256 서명")
+ * 서명이 맞지 않거나 size가 허용 범위를 벗어난 토큰은 거부 (클라이언트가 size 등을 고쳐 보낼 수 없음)
+ * @param pitId point-in-time ID (페이지마다 갱신될 수 있음)
+ * @param searchAfter 이전 페이지 마지막 문서의 정렬 값 (첫 페이지는 null)
+ * @param total 첫 페이지에서 계산한 전체 건수
+ */
+public record SearchCursor(String pitId, List<Object> searchAfter, String q, String field,
+                           int size, int page, long total) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String HMAC = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * @param key 서명 키
+     */
+    public String encode(byte[] key) {
+        try {
+            String payload = ENCODER.encodeToString(MAPPER.writeValueAsBytes(this));
+            return payload + "." + ENCODER.encodeToString(sign(payload, key));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("커서 인코딩 실패", e);
+        }
+    }
+
+    /**
+     * @param key 서명 키 (encode와 같은 키)
+     * @param maxSize 허용하는 최대 페이지 크기
+     * @throws IllegalArgumentException 잘못된 토큰 (서명 불일치, size 범위 초과 포함)
+     */
+    public static SearchCursor decode(String token, byte[] key, int maxSize) {
+        String trimmed = token.trim();
+        int dot = trimmed.lastIndexOf('.');
+        if (dot <= 0) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+        String payload = trimmed.substring(0, dot);
+        try {
+            if (!MessageDigest.isEqual(DECODER.decode(trimmed.substring(dot + 1)), sign(payload, key))) {
+                throw new IllegalArgumentException("잘못된 커서입니다.");
+            }
+            SearchCursor cursor = MAPPER.readValue(DECODER.decode(payload), SearchCursor.class);
+            if (cursor.pitId() == null || cursor.size() <= 0 || cursor.size() > maxSize) {
+                throw new IllegalArgumentException("잘못된 커서입니다.");
+            }
+            return cursor;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.", e);
+        }
+    }
+
+    private static byte[] sign(String payload, byte[] key) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(new SecretKeySpec(key, HMAC));
+            return mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("커서 서명 실패", e);
+        }
+    }
+
+    /**
+     * Elasticsearch 정렬 값 -> 커서 저장용 값
+     */
+    public static List<Object> fromSortValues(List<FieldValue> values) {
+        List<Object> out = new ArrayList<>(values.size());
+        for (FieldValue value : values) {
+            out.add(value.isNull() ? null : value._get());
+        }
+        return out;
+    }
+
+    /**
+     * 커서 저장 값 -> search_after 파라미터
+     */
+    public List<FieldValue> searchAfterValues() {
+        return toFieldValues(searchAfter);
+    }
+
+    /**
+     * 저장/파싱된 정렬 값 -> search_after 파라미터
+     */
+    public static List<FieldValue> toFieldValues(List<Object> values) {
+        List<FieldValue> out = new ArrayList<>(values.size());
+        for (Object value : values) {
+            if (value == null) {
+                out.add(FieldValue.NULL);
+            } else if (value instanceof Integer || value instanceof Long) {
+                out.add(FieldValue.of(((Number) value).longValue()));
+            } else if (value instanceof Number n) {
+                out.add(FieldValue.of(n.doubleValue()));
+            } else if (value instanceof Boolean b) {
+                out.add(FieldValue.of(b));
+            } else {
+                out.add(FieldValue.of(value.toString()));
+            }
+        }
+        return out;
+    }
+
+    /**
+     * 다음 페이지 커서
+     */
+    public SearchCursor next(String nextPitId, List<FieldValue> lastSortValues, long total) {
+        return new SearchCursor(nextPitId, fromSortValues(lastSortValues), q, field, size, page + 1, total);
+    }
+}
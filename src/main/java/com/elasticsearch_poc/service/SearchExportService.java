@@ -0,0 +1,113 @@
+package com.elasticsearch_poc.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * 검색 결과 전체 NDJSON 스트리밍
+ * - PIT + search_after로 한 페이지씩 가져와 바로 응답 스트림에 쓰므로 힙 사용량은 페이지 크기로 고정
+ * - 페이지를 다 쓰기 전에는 다음 페이지를 요청하지 않음: 느린 클라이언트는 블로킹 쓰기로 조회 속도를 늦춤(backpressure)
+ * - 정렬은 _shard_doc만 사용 (점수 계산/정렬 비용 없이 인덱스 순서로 순회)
+ * - _source는 RawSearchService로 응답 바이트에서 바로 복사 (Map 역직렬화/재직렬화 없음)
+ * - 중간 실패 시 응답을 정상 종료하지 않음: 예외가 컨테이너까지 전파되어 연결이 끊기므로(마지막 청크 없음)
+ *   클라이언트는 일부만 받은 export를 완료된 export와 구분할 수 있음
+ */
+@Service
+public class SearchExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchExportService.class);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final ElasticsearchClient esClient;
+    private final SearchService searchService;
+    private final RawSearchService rawSearch;
+
+    @Value("${elasticsearch.index}")
+    private String indexName;
+
+    @Value("${search.export.page-size:1000}")
+    private int pageSize;
+
+    // 페이지 사이(클라이언트가 한 페이지를 받는 동안) PIT 유지 시간
+    @Value("${search.export.keep-alive:1m}")
+    private String keepAlive;
+
+    public SearchExportService(ElasticsearchClient esClient, SearchService searchService, RawSearchService rawSearch) {
+        this.esClient = esClient;
+        this.searchService = searchService;
+        this.rawSearch = rawSearch;
+    }
+
+    /**
+     * 검색 결과의 _source를 한 줄에 하나씩 out에 기록
+     * @return 기록한 문서 수
+     */
+    public long export(String keyword, String field, OutputStream out) throws IOException {
+        Query query = searchService.buildQuery(keyword, field);
+        String pitId = esClient.openPointInTime(o -> o.index(indexName).keepAlive(k -> k.time(keepAlive))).id();
+        long written = 0;
+        long startTime = System.currentTimeMillis();
+        JsonGenerator gen = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8);
+        gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        gen.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        try {
+            List<FieldValue> after = null;
+            while (true) {
+                final String pit = pitId;
+                final List<FieldValue> searchAfter = after;
+                SearchRequest request = SearchRequest.of(s -> {
+                    s.pit(p -> p.id(pit).keepAlive(k -> k.time(keepAlive)))
+                     .size(pageSize)
+                     .query(query)
+                     .trackTotalHits(t -> t.enabled(false))
+                     .sort(so -> so.field(f -> f.field("_shard_doc")));
+                    if (searchAfter != null) s.searchAfter(searchAfter);
+                    return s;
+                });
+
+                // 각 hit의 _source를 Map으로 만들지 않고 응답에서 그대로 복사
+                RawSearchService.RawPage page = rawSearch.search(null, request, "pit_id,hits.hits._source,hits.hits.sort", parser -> {
+                    gen.copyCurrentStructure(parser);
+                    gen.writeRaw('\n');
+                });
+                // 페이지 단위로 내보내 클라이언트가 받는 만큼만 진행
+                gen.flush();
+                written += page.hits();
+
+                if (page.pitId() != null) pitId = page.pitId();
+                if (page.hits() < pageSize || page.lastSort() == null) break;
+                after = SearchCursor.toFieldValues(page.lastSort());
+            }
+            // 정상 완료 시에만 닫음 (실패 경로에서 닫으면 남은 버퍼가 flush되어 완결된 응답처럼 끝남)
+            gen.close();
+        } catch (IOException | RuntimeException e) {
+            log.warn("검색 결과 export 중단: q={}, docs={}, error={}", SearchMetrics.quoted(keyword), written, e.getMessage());
+            throw e;
+        } finally {
+            closePointInTime(pitId);
+        }
+        log.info("📤 검색 결과 export 완료: q={}, docs={}, elapsed={}ms", SearchMetrics.quoted(keyword), written, System.currentTimeMillis() - startTime);
+        return written;
+    }
+
+    private void closePointInTime(String pitId) {
+        try {
+            esClient.closePointInTime(c -> c.id(pitId));
+        } catch (Exception e) {
+            log.warn("PIT 해제 실패 (keep-alive 경과 후 자동 만료): {}", e.getMessage());
+        }
+    }
+}
@@ -1,7 +1,17 @@
 package com.elasticsearch_poc.service;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.json.JsonData;
 import com.elasticsearch_poc.dto.kafka.KeywordDto;
+import com.elasticsearch_poc.service.suggest.SpellCorrectionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,65 +19,312 @@ import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class SearchLogConsumer {
 
     private static final Logger log = LoggerFactory.getLogger(SearchLogConsumer.class);
-    
+
+    // 쓰기 alias가 준비된 뒤 SearchLogPartitionService가 시작하는 리스너 컨테이너 ID
+    public static final String LISTENER_ID = "search-log-consumer";
+
+    // bulk 액션 라인 + 문서 필드 이름 등 JSON 오버헤드 추정치
+    private static final int DOC_OVERHEAD_BYTES = 96;
+    private static final int ROLLUP_OVERHEAD_BYTES = 256;
+
+    // 롤업 문서 카운트 누적 스크립트 (문서가 없으면 upsert 문서로 생성)
+    // applied[토픽-파티션]에 반영한 마지막 오프셋을 기록하고, 그 이하 오프셋은 세지 않음
+    // -> 배치가 재처리되어 같은 레코드가 다시 와도 count가 두 번 늘지 않음 (모두 반영된 경우 noop)
+    static final String ROLLUP_SCRIPT = String.join(" ",
+            "if (ctx._source.applied == null) { ctx._source.applied = new HashMap(); }",
+            "def last = ctx._source.applied[params.partition];",
+            "long added = 0; long max = last == null ? -1L : ((Number) last).longValue();",
+            "for (def offset : params.offsets) {",
+            "  long o = ((Number) offset).longValue();",
+            "  if (last == null || o > ((Number) last).longValue()) { added++; }",
+            "  if (o > max) { max = o; }",
+            "}",
+            "if (added == 0) { ctx.op = 'noop'; }",
+            "else { ctx._source.count += added; ctx._source.applied[params.partition] = max; }");
+
     private final PopularRecentService popularRecentService;
     private final ElasticsearchClient esClient;
+    private final SpellCorrectionService spellCorrection;
+
+    // 토픽-파티션 -> 인메모리 통계/오타 교정 사전에 반영한 마지막 오프셋
+    // 저장 성공 여부와 무관하게 처음 전달될 때 한 번만 반영 (Elasticsearch 장애 중에도 인메모리 통계는 계속 갱신)
+    private final Map<String, Long> memoryApplied = new ConcurrentHashMap<>();
+
+    // 배치/레코드 단위 처리 결과는 로그 대신 카운터로 집계
+    private final Counter storedRecords;
+    private final Counter skippedRecords;
+    private final Counter failedOperations;
+    private final DistributionSummary batchSize;
+    // _bulk 요청 하나의 왕복 시간
+    private final Timer bulkLatency;
+    // 레코드가 토픽에 기록된 시각 ~ 저장 완료 (시간 단위 consumer lag)
+    private final Timer ingestDelay;
+
+    // 당일 search_log 파티션을 가리키는 쓰기 alias
+    @Value("${elasticsearch.search-log-write-alias:search_log_write}")
+    private String searchLogWriteAlias;
+
+    @Value("${elasticsearch.search-log-rollup-index:search_log_rollup}")
+    private String searchLogRollupIndex;
 
-    @Value("${elasticsearch.search-log-index:search_log}")
-    private String searchLogIndex;
+    // 하나의 _bulk 요청에 담을 최대 문서 수
+    @Value("${search-log.bulk.max-docs:500}")
+    private int bulkMaxDocs;
 
-    public SearchLogConsumer(PopularRecentService popularRecentService, 
-                           ElasticsearchClient esClient) {
+    // 하나의 _bulk 요청에 담을 최대 바이트 수 (추정치)
+    @Value("${search-log.bulk.max-bytes:5242880}")
+    private long bulkMaxBytes;
+
+    // 아이템 단위 실패 시 개별 재시도 횟수
+    @Value("${search-log.bulk.item-retries:3}")
+    private int itemRetries;
+
+    @Value("${search-log.bulk.item-retry-backoff-ms:200}")
+    private long itemRetryBackoffMs;
+
+    public SearchLogConsumer(PopularRecentService popularRecentService,
+                           ElasticsearchClient esClient,
+                           SpellCorrectionService spellCorrection,
+                           MeterRegistry registry) {
         this.popularRecentService = popularRecentService;
         this.esClient = esClient;
+        this.spellCorrection = spellCorrection;
+        this.storedRecords = recordCounter(registry, "stored");
+        this.skippedRecords = recordCounter(registry, "skipped");
+        this.failedOperations = Counter.builder("search_log.consumer.bulk.failures")
+                .description("재시도해도 성공할 수 없어 버린 _bulk 작업 수 (매핑 오류 등 4xx)")
+                .register(registry);
+        this.batchSize = DistributionSummary.builder("search_log.consumer.batch.size")
+                .description("poll 한 번에 받은 레코드 수")
+                .baseUnit("records")
+                .register(registry);
+        this.bulkLatency = Timer.builder("search_log.consumer.bulk.latency")
+                .description("_bulk 요청 시간")
+                .register(registry);
+        this.ingestDelay = Timer.builder("search_log.consumer.ingest.delay")
+                .description("Kafka 기록 시각부터 Elasticsearch 저장 완료까지 걸린 시간")
+                .register(registry);
+    }
+
+    private static Counter recordCounter(MeterRegistry registry, String result) {
+        return Counter.builder("search_log.consumer.records")
+                .description("소비한 검색 로그 레코드 수")
+                .tag("result", result)
+                .register(registry);
     }
 
     /**
-     * Kafka의 search-log 토픽에서 검색 로그를 소비하여 인기 검색어 통계 업데이트
-     * @param keywordDto 검색 로그 데이터
+     * Kafka의 search-log 토픽에서 검색 로그를 배치로 소비하여 _bulk 요청으로 저장
+     * - 배치 크기/대기 시간은 KafkaConfig의 max.poll.records, fetch.min.bytes, fetch.max.wait.ms로 결정
+     * - 배치 내에서는 문서 수/바이트 한도 중 먼저 도달하는 쪽에서 _bulk 요청을 나눠 전송
+     * - _bulk 요청 자체가 실패하거나 재시도 가능한 아이템(429/5xx)이 재시도 후에도 실패하면
+     *   예외를 던져 오프셋 커밋 없이 배치 전체를 재처리 (문서 ID/롤업 오프셋 기록으로 중복 저장 없음)
+     * - 인메모리 통계는 저장 전에, 처음 전달된 오프셋만 반영 (재처리 시 중복 집계 없음)
+     * - 자동 시작하지 않음: 쓰기 alias 준비 후 SearchLogPartitionService가 시작
+     * @param records 검색 로그 레코드 목록
      */
-    @KafkaListener(topics = "${kafka.topic.search-log:search-log}", 
+    @KafkaListener(id = LISTENER_ID,
+                   autoStartup = "false",
+                   topics = "${kafka.topic.search-log:search-log}",
                    groupId = "search-log-group",
                    containerFactory = "kafkaListenerContainerFactory")
-    public void consumeSearchLog(KeywordDto keywordDto) {
-        try {
-            String keyword = keywordDto.getKeyword();
-            if (keyword == null || keyword.isBlank()) {
-                log.warn("빈 검색어가 수신되었습니다: {}", keywordDto);
-                return;
+    public void consumeSearchLogs(List<ConsumerRecord<String, KeywordDto>> records) throws IOException {
+        batchSize.record(records.size());
+        List<ConsumerRecord<String, KeywordDto>> valid = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, KeywordDto> record : records) {
+            KeywordDto keywordDto = record.value();
+            if (keywordDto == null || keywordDto.getKeyword() == null || keywordDto.getKeyword().isBlank()) {
+                skippedRecords.increment();
+                log.debug("빈 검색어가 수신되었습니다: partition={}, offset={}", record.partition(), record.offset());
+                continue;
+            }
+            valid.add(record);
+        }
+        if (valid.isEmpty()) return;
+
+        // 1. 처음 전달된 레코드만 인메모리 통계/오타 교정 사전에 반영 (Elasticsearch 저장 결과와 무관)
+        for (ConsumerRecord<String, KeywordDto> record : valid) {
+            if (firstDelivery(record)) {
+                popularRecentService.recordQuery(record.value().getKeyword());
+                spellCorrection.record(record.value().getKeyword());
+            }
+        }
+
+        // 2. Elasticsearch search_log 인덱스에 _bulk로 영구 저장 (+ search_log_rollup 시간별 카운트)
+        int stored = saveToElasticsearch(valid);
+
+        storedRecords.increment(valid.size());
+        // 배치에서 가장 오래된 레코드 기준
+        long oldest = records.stream().mapToLong(ConsumerRecord::timestamp).min().orElse(-1);
+        if (oldest > 0) {
+            ingestDelay.record(Math.max(0, System.currentTimeMillis() - oldest), TimeUnit.MILLISECONDS);
+        }
+        log.debug("검색 로그 배치 처리 완료: received={}, stored={}", records.size(), stored);
+    }
+
+    /**
+     * 파티션별 마지막 반영 오프셋보다 뒤의 레코드인지 확인하고 기록
+     * 배치 재처리로 다시 온 레코드는 false
+     */
+    private boolean firstDelivery(ConsumerRecord<?, ?> record) {
+        String partition = record.topic() + "-" + record.partition();
+        Long last = memoryApplied.get(partition);
+        if (last != null && record.offset() <= last) return false;
+        memoryApplied.put(partition, record.offset());
+        return true;
+    }
+
+    /**
+     * 원본 문서 색인 + 시간별 롤업 카운트 upsert를 문서 수/바이트 한도에 맞춰 _bulk 요청으로 나눠 전송
+     * 원본 문서 ID는 토픽-파티션-오프셋이므로 배치가 재처리되어도 같은 문서를 덮어씀 (중복 로그 없음)
+     * @return 저장에 성공한 작업 수
+     */
+    private int saveToElasticsearch(List<ConsumerRecord<String, KeywordDto>> records) throws IOException {
+        List<BulkOperation> operations = new ArrayList<>(records.size());
+        List<Long> sizes = new ArrayList<>(records.size());
+        Map<RollupSource, List<Long>> rollups = new LinkedHashMap<>();
+        for (ConsumerRecord<String, KeywordDto> record : records) {
+            KeywordDto keywordDto = record.value();
+            Map<String, Object> document = toDocument(keywordDto);
+            operations.add(BulkOperation.of(op -> op
+                .index(i -> i
+                    .index(searchLogWriteAlias)
+                    // alias가 없을 때 같은 이름의 일반 인덱스가 자동 생성되지 않도록 함
+                    .requireAlias(true)
+                    .id(documentId(record))
+                    .document(document)
+                )
+            ));
+            sizes.add(estimateBytes(keywordDto));
+
+            long ts = document.get("timestamp") instanceof Long l ? l : Instant.now().toEpochMilli();
+            long hour = Instant.ofEpochMilli(ts).truncatedTo(ChronoUnit.HOURS).toEpochMilli();
+            RollupSource source = new RollupSource(new RollupKey(keywordDto.getKeyword(), hour),
+                    record.topic() + "-" + record.partition());
+            rollups.computeIfAbsent(source, k -> new ArrayList<>()).add(record.offset());
+        }
+        // 배치 안에서 (검색어, 시간, 파티션) 단위로 미리 모아 롤업 upsert 수를 줄임
+        rollups.forEach((source, offsets) -> {
+            operations.add(rollupOperation(source, offsets));
+            sizes.add(ROLLUP_OVERHEAD_BYTES + 8L * offsets.size()
+                    + source.key().keyword().getBytes(StandardCharsets.UTF_8).length);
+        });
+
+        int succeeded = 0;
+        int from = 0;
+        long chunkBytes = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            long opBytes = sizes.get(i);
+            if (i > from && (i - from >= bulkMaxDocs || chunkBytes + opBytes > bulkMaxBytes)) {
+                succeeded += flush(operations.subList(from, i));
+                from = i;
+                chunkBytes = 0;
             }
+            chunkBytes += opBytes;
+        }
+        if (from < operations.size()) {
+            succeeded += flush(operations.subList(from, operations.size()));
+        }
+        return succeeded;
+    }
 
-            // 1. PopularRecentService를 통해 인기 검색어 통계 업데이트 (인메모리 - 실시간용)
-            popularRecentService.recordQuery(keyword);
-            
-            // 2. Elasticsearch search_log 인덱스에 영구 저장
-            saveToElasticsearch(keywordDto);
-            
-            log.info("✅ 검색 로그 처리 완료: keyword={}, userId={}, timestamp={}",
-                    keyword, keywordDto.getUserId(), keywordDto.getTimestamp());
-        } catch (Exception e) {
-            log.error("❌ 검색 로그 처리 중 오류 발생: keywordDto={}, error={}", 
-                    keywordDto, e.getMessage(), e);
+    /**
+     * _bulk 요청 전송 후 재시도 가능한 아이템 실패만 골라 개별 재전송
+     * - 재시도 가능한 실패(429/5xx)가 itemRetries 후에도 남으면 IOException -> 배치 재처리 (백프레셔로 로그를 잃지 않음)
+     * - 재시도 불가능한 실패(매핑 오류 등 4xx)만 버리고 search_log.consumer.bulk.failures로 집계
+     */
+    private int flush(List<BulkOperation> operations) throws IOException {
+        List<BulkOperation> pending = operations;
+        int succeeded = 0;
+        for (int attempt = 0; ; attempt++) {
+            List<BulkOperation> batch = pending;
+            long start = System.nanoTime();
+            BulkResponse response = esClient.bulk(b -> b.operations(batch));
+            bulkLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            List<BulkOperation> retry = new ArrayList<>();
+            List<BulkResponseItem> items = response.items();
+            for (int i = 0; i < items.size(); i++) {
+                BulkResponseItem item = items.get(i);
+                if (item.error() == null) {
+                    succeeded++;
+                } else if (isRetryable(item.status())) {
+                    retry.add(batch.get(i));
+                } else {
+                    failedOperations.increment();
+                    log.error("❌ 검색 로그 저장 실패: index={}, status={}, reason={}",
+                            item.index(), item.status(), item.error().reason());
+                }
+            }
+            if (retry.isEmpty()) {
+                return succeeded;
+            }
+            if (attempt >= itemRetries) {
+                throw new IOException("_bulk 아이템 " + retry.size() + "건이 " + itemRetries
+                        + "회 재시도 후에도 실패 (배치 재처리)");
+            }
+            log.warn("⚠️ _bulk 아이템 {}건 재시도 ({}/{})", retry.size(), attempt + 1, itemRetries);
+            sleepBeforeRetry(attempt);
+            pending = retry;
         }
     }
 
     /**
-     * Elasticsearch search_log 인덱스에 검색 로그 저장
-     * @param keywordDto 검색 로그 데이터
+     * search_log_rollup 문서 upsert: 검색어 x 시간 단위 문서 하나에 count 누적
+     * @param offsets 이 파티션에서 해당 검색어/시간에 속한 레코드 오프셋 (오름차순)
      */
-    private void saveToElasticsearch(KeywordDto keywordDto) throws IOException {
+    private BulkOperation rollupOperation(RollupSource source, List<Long> offsets) {
+        RollupKey key = source.key();
+        Map<String, Object> upsert = new HashMap<>();
+        upsert.put("keyword", key.keyword());
+        upsert.put("hour", key.hour());
+        upsert.put("count", (long) offsets.size());
+        upsert.put("applied", Map.of(source.partition(), offsets.get(offsets.size() - 1)));
+        return BulkOperation.of(op -> op
+            .update(u -> u
+                .index(searchLogRollupIndex)
+                .id(key.id())
+                .retryOnConflict(3)
+                .action(a -> a
+                    .script(sc -> sc
+                        .inline(in -> in
+                            .lang("painless")
+                            .source(ROLLUP_SCRIPT)
+                            .params("partition", JsonData.of(source.partition()))
+                            .params("offsets", JsonData.of(offsets))
+                        )
+                    )
+                    .upsert(upsert)
+                )
+            )
+        );
+    }
+
+    private static String documentId(ConsumerRecord<?, ?> record) {
+        return record.topic() + "-" + record.partition() + "-" + record.offset();
+    }
+
+    private Map<String, Object> toDocument(KeywordDto keywordDto) {
         Map<String, Object> document = new HashMap<>();
         document.put("keyword", keywordDto.getKeyword());
         document.put("userId", keywordDto.getUserId());
-        
+
         // LocalDateTime을 Instant로 변환하여 저장 (Elasticsearch 호환)
         if (keywordDto.getTimestamp() != null) {
             document.put("timestamp", keywordDto.getTimestamp()
@@ -75,14 +332,43 @@ public class SearchLogConsumer {
                     .toInstant()
                     .toEpochMilli());
         }
+        return document;
+    }
+
+    private long estimateBytes(KeywordDto keywordDto) {
+        long bytes = DOC_OVERHEAD_BYTES + keywordDto.getKeyword().getBytes(StandardCharsets.UTF_8).length;
+        if (keywordDto.getUserId() != null) {
+            bytes += keywordDto.getUserId().getBytes(StandardCharsets.UTF_8).length;
+        }
+        return bytes;
+    }
 
-        esClient.index(i -> i
-            .index(searchLogIndex)
-            .document(document)
-        );
+    // 429(Too Many Requests)와 5xx만 재시도, 매핑 오류 등 4xx는 재시도해도 실패
+    private boolean isRetryable(int status) {
+        return status == 429 || status >= 500;
+    }
 
-        log.info("📝 Elasticsearch 저장 완료: index={}, keyword={}",
-                searchLogIndex, keywordDto.getKeyword());
+    private void sleepBeforeRetry(int attempt) throws IOException {
+        try {
+            Thread.sleep(itemRetryBackoffMs * (1L << attempt));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("_bulk 재시도 대기 중 인터럽트", e);
+        }
     }
-}
 
+    /**
+     * 롤업 문서 키 (검색어, 시간 시작 epoch millis)
+     * 문서 ID는 길이 제한(512 bytes)을 피하기 위해 이름 기반 UUID 사용
+     */
+    private record RollupKey(String keyword, long hour) {
+        String id() {
+            return hour + "-" + UUID.nameUUIDFromBytes(keyword.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * 롤업 기여 단위 (롤업 문서, 토픽-파티션)
+     */
+    private record RollupSource(RollupKey key, String partition) {}
+}
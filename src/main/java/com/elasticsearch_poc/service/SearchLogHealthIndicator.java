@@ -0,0 +1,37 @@
+package com.elasticsearch_poc.service;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/**
+ * 검색 로그 적재 상태 (GET /actuator/health의 searchLog)
+ * 파티션 준비 실패(alias 자리에 일반 인덱스 존재 등)로 consumer가 멈춰 있으면 DOWN
+ */
+@Component
+public class SearchLogHealthIndicator implements HealthIndicator {
+
+    private final SearchLogPartitionService partitionService;
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+
+    public SearchLogHealthIndicator(SearchLogPartitionService partitionService,
+                                    KafkaListenerEndpointRegistry listenerRegistry) {
+        this.partitionService = partitionService;
+        this.listenerRegistry = listenerRegistry;
+    }
+
+    @Override
+    public Health health() {
+        String blocked = partitionService.blockedReason();
+        if (blocked != null) {
+            return Health.down().withDetail("reason", blocked).build();
+        }
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(SearchLogConsumer.LISTENER_ID);
+        if (container == null || !container.isRunning()) {
+            return Health.down().withDetail("reason", "검색 로그 consumer가 실행 중이 아닙니다").build();
+        }
+        return Health.up().build();
+    }
+}
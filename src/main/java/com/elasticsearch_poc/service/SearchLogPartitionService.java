@@ -0,0 +1,334 @@
+package com.elasticsearch_poc.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.Conflicts;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch.indices.IndicesBlockOptions;
+import co.elastic.clients.elasticsearch.indices.update_aliases.Action;
+import co.elastic.clients.elasticsearch.tasks.GetTasksResponse;
+import co.elastic.clients.json.JsonData;
+import com.elasticsearch_poc.service.popular.PopularWindow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * search_log 일 단위 파티션 관리 서비스
+ * - 파티션: search_log-yyyy.MM.dd (UTC), 인덱스 템플릿으로 매핑과 읽기 alias(search_log) 자동 적용
+ * - 쓰기 alias(search_log_write)는 매일 당일 파티션으로 이동
+ * - 보관 기간이 지난 파티션은 delete-by-query 대신 인덱스 단위로 삭제
+ * - 롤업(search_log_rollup)도 같은 보관 기간을 적용해 전체 기간 집계가 원본/롤업 모드에서 같은 범위를 보도록 함
+ * - 검색 로그 consumer는 자동 시작하지 않고, 쓰기 alias가 준비된 뒤에 여기서 시작
+ *   (alias가 없을 때 bulk 색인되면 search_log_write라는 일반 인덱스가 자동 생성되어 이후 alias 이동이 모두 실패함)
+ * - 파티션 도입 전의 일반 search_log 인덱스는 search-log.partition.migrate-legacy-index=true일 때
+ *   {이름}_legacy로 복제 후 삭제하여 alias 자리를 비우고, 문서를 timestamp 기준 일 파티션으로 재색인
+ */
+@Service
+public class SearchLogPartitionService {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchLogPartitionService.class);
+    private static final DateTimeFormatter PARTITION_FORMAT = DateTimeFormatter.ofPattern("yyyy.MM.dd");
+    private static final String LEGACY_SUFFIX = "_legacy";
+    private static final long MIGRATION_POLL_MS = 5000;
+
+    // 기존 문서를 timestamp(epoch millis, UTC) 날짜의 파티션으로 보냄, timestamp가 없으면 dest(당일 파티션)
+    private static final String MIGRATION_SCRIPT = String.join(" ",
+            "def ts = ctx._source.timestamp;",
+            "if (ts instanceof Number) {",
+            "  ctx._index = params.prefix + DateTimeFormatter.ofPattern('yyyy.MM.dd')",
+            "      .format(Instant.ofEpochMilli(((Number) ts).longValue()).atZone(ZoneOffset.UTC));",
+            "}");
+
+    private final ElasticsearchClient esClient;
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final Clock clock = Clock.systemUTC();
+
+    // 읽기 alias (모든 파티션)
+    @Value("${elasticsearch.search-log-index:search_log}")
+    private String searchLogIndex;
+
+    // 쓰기 alias (당일 파티션)
+    @Value("${elasticsearch.search-log-write-alias:search_log_write}")
+    private String writeAlias;
+
+    @Value("${elasticsearch.search-log-rollup-index:search_log_rollup}")
+    private String searchLogRollupIndex;
+
+    @Value("${search-log.partition.retention-days:30}")
+    private int retentionDays;
+
+    // alias 이름에 일반 인덱스가 있을 때 파티션으로 이전할지 여부 (false면 consumer를 멈춘 채 health DOWN)
+    @Value("${search-log.partition.migrate-legacy-index:false}")
+    private boolean migrateLegacyIndex;
+
+    // consumer를 시작하지 못한 이유 (health indicator 노출용, 정상이면 null)
+    private volatile String blockedReason = "파티션 점검 전";
+
+    public SearchLogPartitionService(ElasticsearchClient esClient, KafkaListenerEndpointRegistry listenerRegistry) {
+        this.esClient = esClient;
+        this.listenerRegistry = listenerRegistry;
+    }
+
+    /**
+     * 파티션 이름 접두사 (예: search_log-)
+     */
+    public String partitionPrefix() {
+        return searchLogIndex + "-";
+    }
+
+    /**
+     * 구간 조회에 필요한 파티션 목록
+     * 쓰기 alias는 자정 직후 잠시 전날 파티션을 가리킬 수 있으므로 하루 앞 파티션까지 포함
+     * 전체 기간은 읽기 alias 사용
+     */
+    public List<String> indicesFor(PopularWindow window) {
+        if (window.duration() == null) {
+            return List.of(searchLogIndex);
+        }
+        LocalDate today = LocalDate.now(clock);
+        LocalDate from = LocalDate.ofInstant(clock.instant().minus(window.duration()), ZoneOffset.UTC).minusDays(1);
+        List<String> indices = new ArrayList<>();
+        for (LocalDate day = today; !day.isBefore(from); day = day.minusDays(1)) {
+            indices.add(partitionName(day));
+        }
+        return indices;
+    }
+
+    /**
+     * 읽기 alias (모든 파티션), 최근 검색어처럼 날짜와 무관하게 최신 문서를 찾는 조회용
+     */
+    public String readAlias() {
+        return searchLogIndex;
+    }
+
+    /**
+     * 보관 기간 하한 (Elasticsearch date math), 읽기 alias 조회 시 timestamp 범위 필터로 사용
+     */
+    public String retentionLowerBound() {
+        return "now-" + retentionDays + "d/d";
+    }
+
+    /**
+     * consumer를 시작하지 못한 이유, 정상이면 null
+     */
+    public String blockedReason() {
+        return blockedReason;
+    }
+
+    /**
+     * 애플리케이션 시작 시 파티션 준비 후 consumer 시작 (인덱스 템플릿 생성 이후 실행)
+     * Elasticsearch에 연결할 수 없거나 alias 자리에 일반 인덱스가 남아 있으면
+     * consumer를 멈춘 채로 두고 다음 정기 점검에서 다시 시도
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(10)
+    public void initializePartitions() {
+        maintainPartitions();
+    }
+
+    /**
+     * 일반 인덱스 이전, 당일/익일 파티션 생성, 쓰기 alias 이동, consumer 시작(멈춰 있으면),
+     * 이전한 문서 재색인, 보관 기간 지난 파티션/롤업 문서 삭제
+     * 시작 이벤트와 정기 점검이 겹쳐 이전 작업이 중복 실행되지 않도록 직렬화
+     */
+    @Scheduled(cron = "${search-log.partition.maintenance-cron:0 0 * * * *}", zone = "UTC")
+    public synchronized void maintainPartitions() {
+        try {
+            releaseAliasNames();
+            LocalDate today = LocalDate.now(clock);
+            String current = partitionName(today);
+            ensurePartition(current);
+            ensurePartition(partitionName(today.plusDays(1)));
+            moveWriteAlias(current);
+            startConsumer();
+            blockedReason = null;
+            reindexLegacyIndices(current);
+            dropExpiredPartitions(today.minusDays(retentionDays));
+            dropExpiredRollups(today.minusDays(retentionDays));
+        } catch (Exception e) {
+            if (blockedReason != null) {
+                blockedReason = e.getMessage();
+            }
+            log.error("❌ search_log 파티션 관리 중 오류 발생: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 읽기/쓰기 alias 이름의 일반 인덱스가 있으면 alias를 만들 수 없음
+     * 이전이 켜져 있으면 쓰기를 막고 {이름}_legacy로 복제(세그먼트 하드링크라 빠름)한 뒤 원본 삭제,
+     * 꺼져 있으면 중단 (consumer 대기, health DOWN)
+     */
+    private void releaseAliasNames() throws IOException {
+        for (String name : List.of(searchLogIndex, writeAlias)) {
+            if (!esClient.indices().exists(e -> e.index(name)).value()
+                    || esClient.indices().existsAlias(e -> e.name(name)).value()) {
+                continue;
+            }
+            if (!migrateLegacyIndex) {
+                throw new IllegalStateException("alias로 사용할 이름에 일반 인덱스가 존재합니다: " + name
+                        + " (search-log.partition.migrate-legacy-index=true로 파티션 이전을 켜거나, "
+                        + partitionPrefix() + "*으로 재색인 후 삭제하세요)");
+            }
+            String legacy = name + LEGACY_SUFFIX;
+            if (esClient.indices().exists(e -> e.index(legacy)).value()) {
+                throw new IllegalStateException("이전용 인덱스가 이미 존재합니다: " + legacy
+                        + " (이전 작업 결과를 확인 후 정리하세요)");
+            }
+            esClient.indices().addBlock(b -> b.index(name).block(IndicesBlockOptions.Write));
+            esClient.indices().clone(c -> c.index(name).target(legacy));
+            esClient.indices().delete(d -> d.index(name));
+            log.info("📦 일반 인덱스를 이전용으로 복제 후 삭제: {} -> {}", name, legacy);
+        }
+    }
+
+    /**
+     * {이름}_legacy 문서를 timestamp 날짜의 파티션으로 재색인 후 삭제
+     * 문서 _id를 유지하므로 중간에 실패해도 다음 점검에서 처음부터 다시 실행하면 됨
+     * 보관 기간이 지난 날짜로 만들어진 파티션은 이어지는 보관 기간 정리에서 삭제
+     */
+    private void reindexLegacyIndices(String current) throws IOException, InterruptedException {
+        for (String name : List.of(searchLogIndex, writeAlias)) {
+            String legacy = name + LEGACY_SUFFIX;
+            if (!esClient.indices().exists(e -> e.index(legacy)).value()) continue;
+
+            log.info("🔁 이전용 인덱스 재색인 시작: {} -> {}*", legacy, partitionPrefix());
+            String taskId = esClient.reindex(r -> r
+                    .source(s -> s.index(legacy))
+                    .dest(d -> d.index(current))
+                    .script(sc -> sc
+                        .inline(in -> in
+                            .lang("painless")
+                            .source(MIGRATION_SCRIPT)
+                            .params("prefix", JsonData.of(partitionPrefix()))
+                        )
+                    )
+                    .conflicts(Conflicts.Proceed)
+                    .waitForCompletion(false)
+            ).task();
+
+            // 대량 재색인은 클라이언트 소켓 타임아웃보다 오래 걸리므로 task로 실행하고 완료를 폴링
+            GetTasksResponse task = esClient.tasks().get(g -> g.taskId(taskId));
+            while (!task.completed()) {
+                Thread.sleep(MIGRATION_POLL_MS);
+                task = esClient.tasks().get(g -> g.taskId(taskId));
+            }
+            if (task.error() != null) {
+                throw new IllegalStateException("이전용 인덱스 재색인 실패: " + legacy + " (" + task.error().reason() + ")");
+            }
+            // 문서 단위 실패가 있으면 재색인이 중단되므로 원본을 남겨 두고 다음 점검에서 재시도
+            if (task.response() != null && !task.response().failures().isEmpty()) {
+                throw new IllegalStateException("이전용 인덱스 재색인 중 문서 실패: " + legacy + " "
+                        + task.response().failures());
+            }
+            esClient.indices().delete(d -> d.index(legacy));
+            log.info("✅ 이전용 인덱스 재색인 완료 후 삭제: {}", legacy);
+        }
+    }
+
+    private void startConsumer() {
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(SearchLogConsumer.LISTENER_ID);
+        if (container != null && !container.isRunning()) {
+            container.start();
+            log.info("▶️ 검색 로그 consumer 시작 (쓰기 alias 준비 완료)");
+        }
+    }
+
+    private String partitionName(LocalDate day) {
+        return partitionPrefix() + PARTITION_FORMAT.format(day);
+    }
+
+    private void ensurePartition(String index) throws IOException {
+        if (esClient.indices().exists(e -> e.index(index)).value()) return;
+        // 매핑/설정/읽기 alias는 인덱스 템플릿에서 적용
+        esClient.indices().create(c -> c.index(index));
+        log.info("🔧 search_log 파티션 생성: {}", index);
+    }
+
+    /**
+     * 기존 파티션에서 쓰기 alias를 제거하고 당일 파티션에 부여 (원자적 alias 교체)
+     */
+    private void moveWriteAlias(String current) throws IOException {
+        Set<String> holders = aliasHolders(writeAlias);
+        if (holders.size() == 1 && holders.contains(current)) return;
+
+        List<Action> actions = new ArrayList<>();
+        for (String index : holders) {
+            if (!index.equals(current)) {
+                actions.add(Action.of(a -> a.remove(r -> r.index(index).alias(writeAlias))));
+            }
+        }
+        actions.add(Action.of(a -> a.add(ad -> ad.index(current).alias(writeAlias).isWriteIndex(true))));
+        esClient.indices().updateAliases(u -> u.actions(actions));
+        log.info("🔀 쓰기 alias 이동: {} -> {}", writeAlias, current);
+    }
+
+    private void dropExpiredPartitions(LocalDate cutoff) throws IOException {
+        Set<String> partitions = esClient.indices()
+                .get(g -> g.index(partitionPrefix() + "*").allowNoIndices(true))
+                .result().keySet();
+        for (String index : partitions) {
+            LocalDate day = parsePartitionDate(index);
+            if (day != null && day.isBefore(cutoff)) {
+                esClient.indices().delete(d -> d.index(index));
+                log.info("🗑️ 보관 기간이 지난 search_log 파티션 삭제: {}", index);
+            }
+        }
+    }
+
+    /**
+     * 보관 기간이 지난 시간의 롤업 문서 삭제 (파티션 삭제와 같은 날짜 기준)
+     * 롤업은 단일 인덱스라 delete-by-query를 task로 실행하고 완료를 기다리지 않음 (다음 점검에서 남은 문서 재시도)
+     */
+    private void dropExpiredRollups(LocalDate cutoff) throws IOException {
+        if (!esClient.indices().exists(e -> e.index(searchLogRollupIndex)).value()) return;
+        String task = esClient.deleteByQuery(d -> d
+                .index(searchLogRollupIndex)
+                .query(q -> q
+                    .range(r -> r
+                        .date(dt -> dt
+                            .field("hour")
+                            .lt(cutoff.toString())
+                        )
+                    )
+                )
+                .conflicts(Conflicts.Proceed)
+                .waitForCompletion(false)
+        ).task();
+        log.debug("🗑️ 보관 기간이 지난 롤업 문서 삭제 요청: {} (hour < {}, task {})", searchLogRollupIndex, cutoff, task);
+    }
+
+    private Set<String> aliasHolders(String alias) throws IOException {
+        try {
+            return esClient.indices().getAlias(g -> g.name(alias)).result().keySet();
+        } catch (ElasticsearchException e) {
+            if (e.status() == 404) return Set.of();
+            throw e;
+        }
+    }
+
+    private LocalDate parsePartitionDate(String index) {
+        if (!index.startsWith(partitionPrefix())) return null;
+        try {
+            return LocalDate.parse(index.substring(partitionPrefix().length()), PARTITION_FORMAT);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.elasticsearch_poc.service;
 
 import com.elasticsearch_poc.dto.kafka.KeywordDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,6 +13,7 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class SearchLogProducer {
@@ -17,12 +21,29 @@ public class SearchLogProducer {
     private static final Logger log = LoggerFactory.getLogger(SearchLogProducer.class);
     
     private final KafkaTemplate<String, KeywordDto> kafkaTemplate;
+    // 검색 요청마다 호출되므로 전송 결과는 로그 대신 카운터로 집계
+    private final Counter sent;
+    private final Counter failed;
+    // send() 호출 ~ 브로커 ack(acks=1) 수신까지
+    private final Timer sendLatency;
     
     @Value("${kafka.topic.search-log:search-log}")
     private String searchLogTopic;
 
-    public SearchLogProducer(KafkaTemplate<String, KeywordDto> kafkaTemplate) {
+    public SearchLogProducer(KafkaTemplate<String, KeywordDto> kafkaTemplate, MeterRegistry registry) {
         this.kafkaTemplate = kafkaTemplate;
+        this.sent = sendCounter(registry, "success");
+        this.failed = sendCounter(registry, "failure");
+        this.sendLatency = Timer.builder("search_log.producer.send.latency")
+                .description("검색 로그 전송 후 브로커 응답까지 걸린 시간")
+                .register(registry);
+    }
+
+    private static Counter sendCounter(MeterRegistry registry, String result) {
+        return Counter.builder("search_log.producer.sends")
+                .description("검색 로그 Kafka 전송 수")
+                .tag("result", result)
+                .register(registry);
     }
 
     /**
@@ -41,22 +62,29 @@ public class SearchLogProducer {
                 LocalDateTime.now()
         );
 
+        long start = System.nanoTime();
         try {
             CompletableFuture<SendResult<String, KeywordDto>> future = 
                     kafkaTemplate.send(searchLogTopic, keyword, keywordDto);
             
             future.whenComplete((result, ex) -> {
+                sendLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
                 if (ex == null) {
-                    log.info("검색 로그 전송 성공: keyword={}, topic={}, partition={}, offset={}",
-                            keyword, searchLogTopic, 
-                            result.getRecordMetadata().partition(),
-                            result.getRecordMetadata().offset());
+                    sent.increment();
+                    if (log.isDebugEnabled()) {
+                        log.debug("검색 로그 전송 성공: keyword={}, topic={}, partition={}, offset={}",
+                                SearchMetrics.quoted(keyword), searchLogTopic,
+                                result.getRecordMetadata().partition(),
+                                result.getRecordMetadata().offset());
+                    }
                 } else {
-                    log.error("검색 로그 전송 실패: keyword={}, error={}", keyword, ex.getMessage(), ex);
+                    failed.increment();
+                    log.error("검색 로그 전송 실패: keyword={}, error={}", SearchMetrics.quoted(keyword), ex.getMessage(), ex);
                 }
             });
         } catch (Exception e) {
-            log.error("검색 로그 전송 중 예외 발생: keyword={}, error={}", keyword, e.getMessage(), e);
+            failed.increment();
+            log.error("검색 로그 전송 중 예외 발생: keyword={}, error={}", SearchMetrics.quoted(keyword), e.getMessage(), e);
         }
     }
 }
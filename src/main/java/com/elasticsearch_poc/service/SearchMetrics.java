@@ -0,0 +1,121 @@
+package com.elasticsearch_poc.service;
+
+import co.elastic.clients.elasticsearch.core.search.ResponseBody;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 검색/자동완성 호출 메트릭 + 느린 쿼리 로그
+ * - 요청마다 로그를 남기지 않고 작업(operation)별 타이머/카운터만 갱신
+ * - Elasticsearch 응답의 took(서버 처리 시간)을 따로 기록하여 왕복 시간과 비교 (차이 = 네트워크/큐잉/직렬화)
+ * - 임계값(search.slow-log.threshold-ms)을 넘은 호출만 표본 비율(sample-rate)로 한 줄 로그 기록
+ *   (로거: com.elasticsearch_poc.slowlog, 표본에서 빠진 호출도 search.slow 카운터에는 집계)
+ * - 검색어는 사용자 입력이므로 JSON 문자열로 escape하여 기록 (개행으로 가짜 로그 줄을 만들지 못하도록)
+ */
+@Component
+public class SearchMetrics {
+
+    private static final Logger slowLog = LoggerFactory.getLogger("com.elasticsearch_poc.slowlog");
+
+    private final MeterRegistry registry;
+    private final long thresholdNanos;
+    private final double sampleRate;
+
+    // 요청마다 미터를 조회하지 않도록 작업별로 보관
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+
+    public SearchMetrics(MeterRegistry registry,
+                         @Value("${search.slow-log.threshold-ms:500}") long thresholdMs,
+                         @Value("${search.slow-log.sample-rate:1.0}") double sampleRate) {
+        this.registry = registry;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * 성공한 호출 기록
+     * @param startNanos 요청 직전 System.nanoTime()
+     * @param response Elasticsearch 응답 (took, 전체 건수), 인메모리 처리면 null
+     * @param returned 반환한 결과 수
+     * @param query 느린 쿼리 로그에만 쓰이는 검색어
+     */
+    public void record(String operation, long startNanos, ResponseBody<?> response, int returned, String query) {
+        long elapsed = System.nanoTime() - startNanos;
+        Meters m = meters(operation);
+        m.success.record(elapsed, TimeUnit.NANOSECONDS);
+        if (response != null) m.took.record(response.took(), TimeUnit.MILLISECONDS);
+        if (returned == 0) m.empty.increment();
+        if (elapsed >= thresholdNanos) {
+            m.slow.increment();
+            if (sampled()) {
+                long hits = response != null && response.hits() != null && response.hits().total() != null
+                        ? response.hits().total().value() : -1;
+                long took = response != null ? response.took() : -1;
+                slowLog.warn("slow_query op={} elapsed_ms={} took_ms={} hits={} returned={} q={}",
+                        operation, TimeUnit.NANOSECONDS.toMillis(elapsed), took, hits, returned, quoted(query));
+            }
+        }
+    }
+
+    /**
+     * 사용자 입력을 로그에 남길 때 쓰는 JSON 문자열 표기 (따옴표 포함, 개행/제어 문자/따옴표 escape)
+     */
+    public static String quoted(String value) {
+        if (value == null) return "null";
+        return "\"" + new String(JsonStringEncoder.getInstance().quoteAsString(value)) + "\"";
+    }
+
+    /**
+     * 실패한 호출 기록
+     */
+    public void recordFailure(String operation, long startNanos) {
+        meters(operation).failure.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private Meters meters(String operation) {
+        return meters.computeIfAbsent(operation, this::register);
+    }
+
+    private Meters register(String operation) {
+        return new Meters(
+                timer(operation, "success"),
+                timer(operation, "error"),
+                Timer.builder("search.es.took")
+                        .description("Elasticsearch 서버 처리 시간 (응답의 took)")
+                        .tag("operation", operation)
+                        .register(registry),
+                Counter.builder("search.results.empty")
+                        .description("결과가 0건인 호출 수")
+                        .tag("operation", operation)
+                        .register(registry),
+                Counter.builder("search.slow")
+                        .description("느린 쿼리 임계값을 넘은 호출 수")
+                        .tag("operation", operation)
+                        .register(registry));
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return Timer.builder("search.requests")
+                .description("검색/자동완성 처리 시간 (Elasticsearch 호출은 요청 전송 ~ 응답 파싱)")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private record Meters(Timer success, Timer failure, Timer took, Counter empty, Counter slow) {}
+}
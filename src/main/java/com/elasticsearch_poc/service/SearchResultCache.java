@@ -0,0 +1,76 @@
+package com.elasticsearch_poc.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+/**
+ * 상품 검색 결과 캐시
+ * - Caffeine(W-TinyLFU): 크기 제한 + 빈도 기반 교체로 편중된 인기 검색어/첫 페이지를 유지
+ * - TTL 경과 또는 명시적 무효화(카탈로그 재색인) 시 제거
+ */
+public class SearchResultCache {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * 정규화된 검색 요청 키 (필드 프로필이 다르면 다른 결과)
+     */
+    public record Key(String q, String field, int size, int from, SourceProjection projection) {}
+
+    private final boolean enabled;
+    private final Cache<Key, SearchService.SearchResult> cache;
+
+    public SearchResultCache(boolean enabled, long maxSize, Duration ttl) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 검색 요청 정규화: 앞뒤 공백 제거, 연속 공백 축약
+     * 대소문자는 유지 (goods_code는 대소문자를 구분하는 keyword 매칭이므로 "ab1"과 "AB1"은 다른 결과)
+     * 검색 쿼리도 이 키의 q/field로 만들므로 캐시된 결과는 항상 같은 쿼리의 결과
+     */
+    public static Key key(String keyword, String field, int size, int from, SourceProjection projection) {
+        String q = (keyword == null || keyword.isBlank())
+                ? "*"
+                : WHITESPACE.matcher(keyword.trim()).replaceAll(" ");
+        String f = field == null ? "" : field.trim();
+        return new Key(q, f, size <= 0 ? 10 : size, Math.max(0, from),
+                projection == null ? SourceProjection.FULL : projection);
+    }
+
+    public SearchService.SearchResult getIfPresent(Key key) {
+        return enabled ? cache.getIfPresent(key) : null;
+    }
+
+    public void put(Key key, SearchService.SearchResult result) {
+        if (enabled) cache.put(key, result);
+    }
+
+    /**
+     * 전체 무효화 (카탈로그 재색인 후 호출)
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
@@ -1,23 +1,49 @@
 package com.elasticsearch_poc.service;
 
-import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
+import co.elastic.clients.elasticsearch._types.SortOrder;
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.MsearchRequest;
 import co.elastic.clients.elasticsearch.core.SearchRequest;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.msearch.MultiSearchResponseItem;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.elasticsearch.core.search.ResponseBody;
+import co.elastic.clients.elasticsearch.core.search.Suggester;
+import com.elasticsearch_poc.service.suggest.Hangul;
+import com.elasticsearch_poc.service.suggest.LocalSuggestService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
 public class SearchService {
 
     private static final Logger log = LoggerFactory.getLogger(SearchService.class);
-    private final ElasticsearchClient esClient;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    // 응답 대기 중 요청 스레드를 점유하지 않도록 비동기 클라이언트 사용
+    private final ElasticsearchAsyncClient esClient;
+    private final SearchResultCache resultCache;
+    private final LocalSuggestService localSuggest;
+    private final RawSearchService rawSearch;
+    private final SearchMetrics metrics;
+    // 동일 요청 동시 호출은 하나의 Elasticsearch 호출로 병합
+    private final SingleFlight<SearchResultCache.Key, SearchResult> searchFlights = new SingleFlight<>();
+    private final SingleFlight<SuggestKey, List<String>> suggestFlights = new SingleFlight<>();
 
     @Value("${elasticsearch.index}")
     private String indexName;
@@ -28,8 +54,28 @@ public class SearchService {
     @Value("${elasticsearch.suggestTextField:goods_name}")
     private String suggestTextField;
 
-    public SearchService(ElasticsearchClient esClient) {
+    // 커서 페이징 PIT 유지 시간 (다음 페이지 요청까지 허용되는 최대 간격)
+    @Value("${search.cursor.keep-alive:1m}")
+    private String cursorKeepAlive;
+
+    // 커서 토큰 서명 키 (여러 인스턴스가 커서를 주고받으면 모두 같은 값, 비우면 인스턴스별 임의 키)
+    @Value("${search.cursor.secret:}")
+    private String cursorSecret;
+
+    // 페이지 크기 상한 (커서 토큰의 size도 이 범위만 허용)
+    @Value("${search.max-size:100}")
+    private int maxSize;
+
+    private final byte[] instanceCursorKey = randomKey();
+
+    public SearchService(ElasticsearchAsyncClient esClient, SearchResultCache resultCache,
+                         LocalSuggestService localSuggest, RawSearchService rawSearch,
+                         SearchMetrics metrics) {
         this.esClient = esClient;
+        this.resultCache = resultCache;
+        this.localSuggest = localSuggest;
+        this.rawSearch = rawSearch;
+        this.metrics = metrics;
     }
 
     public static class SearchResult {
@@ -43,23 +89,262 @@ public class SearchService {
         public List<Map<String, Object>> getResults() { return results; }
     }
 
+    /**
+     * 커서 페이지
+     * @param nextCursor 다음 페이지 토큰 (마지막 페이지면 null, PIT도 이미 닫힘)
+     */
+    public record CursorPage(SearchResult result, String query, int page, int size, String nextCursor) {}
+
+    public record CoalescingStats(long searchCalls, long searchCollapsed, long suggestCalls, long suggestCollapsed) {}
+
+    private record SuggestKey(String prefix, int size) {}
+
     // 한글 초성(ㄱ-ㅎ)만으로 구성되었는지 간단 체크 (공백 허용)
     private boolean isChosungLike(String s) {
-        if (s == null || s.isBlank()) return false;
-        for (int i = 0; i < s.length(); i++) {
-            char ch = s.charAt(i);
-            if (Character.isWhitespace(ch)) continue;
-            // Hangul Compatibility Jamo range: 0x3131 (ㄱ) ~ 0x314E (ㅎ)
-            if (ch < '\u3131' || ch > '\u314E') {
-                return false;
-            }
+        return Hangul.isChosungLike(s);
+    }
+
+    /**
+     * 상품 검색 (비동기)
+     * 캐시 적중 시 즉시 완료, 그 외에는 Elasticsearch 응답 시 완료 (동일 요청은 하나의 호출로 병합)
+     */
+    public CompletableFuture<SearchResult> searchAsync(String keyword, String field, int size, int from,
+                                                       SourceProjection projection) {
+        SearchResultCache.Key key = SearchResultCache.key(keyword, field, size, from, projection);
+        SearchResult cached = resultCache.getIfPresent(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
         }
-        return true;
+        return searchFlights.executeAsync(key, () -> searchFromElasticsearch(key.q(), key.field(), key.size(), key.from(), key.projection())
+                .thenApply(result -> {
+                    resultCache.put(key, result);
+                    return result;
+                }));
+    }
+
+    /**
+     * 검색 결과 캐시 전체 무효화 (카탈로그 재색인 후 호출)
+     */
+    public void invalidateSearchCache() {
+        resultCache.invalidateAll();
     }
 
-    public SearchResult search(String keyword, String field, int size, int from) throws IOException {
+    private CompletableFuture<SearchResult> searchFromElasticsearch(String keyword, String field, int size, int from,
+                                                                    SourceProjection projection) {
         final int pageSize = (size <= 0) ? 10 : size;
         final int start = Math.max(0, from);
+        Query query = buildQuery(keyword, field);
+
+        SearchRequest request = SearchRequest.of(sr -> applyProjection(sr
+                .index(indexName)
+                .from(start)
+                .size(pageSize)
+                .query(query), projection)
+        );
+
+        long startTime = System.nanoTime();
+        return esClient.search(request, Map.class).thenApply(raw -> {
+            @SuppressWarnings("unchecked")
+            SearchResponse<Map<String, Object>> response = (SearchResponse<Map<String, Object>>) (SearchResponse<?>) raw;
+
+            long total = 0L;
+            if (response.hits() != null && response.hits().total() != null) {
+                total = response.hits().total().value();
+            }
+            List<Map<String, Object>> list = Objects.requireNonNull(response.hits()).hits().stream()
+                    .map(hit -> (Map<String, Object>) hit.source())
+                    .collect(Collectors.toList());
+
+            metrics.record("search", startTime, response, list.size(), keyword);
+
+            // 캐시에 공유되므로 변경 불가 리스트로 반환
+            return new SearchResult(total, Collections.unmodifiableList(list));
+        }).whenComplete((result, e) -> {
+            if (e != null) metrics.recordFailure("search", startTime);
+        });
+    }
+
+    /**
+     * 상품 검색 (raw 모드)
+     * 응답 형태는 SearchResponseDto와 같지만 각 hit의 _source를 Map으로 만들지 않고 Elasticsearch 응답에서 out으로 그대로 복사
+     * 결과 캐시는 역직렬화된 결과를 담으므로 raw 모드에는 적용하지 않음
+     */
+    public void rawSearch(String keyword, String field, int size, int page, SourceProjection projection,
+                          OutputStream out) throws IOException {
+        final int pageSize = (size <= 0) ? 10 : size;
+        final int pageNo = Math.max(1, page);
+        Query query = buildQuery(keyword, field);
+        SearchRequest request = SearchRequest.of(sr -> applyProjection(sr
+                .from((pageNo - 1) * pageSize)
+                .size(pageSize)
+                .query(query), projection)
+        );
+
+        long startTime = System.nanoTime();
+        // 응답 머리(query/size/page/total)는 Elasticsearch 응답을 받아 total을 읽은 뒤에 씀
+        // -> 그 전에 실패하면 out에 아무것도 쓰지 않았으므로 응답이 커밋되지 않고 5xx로 처리됨
+        JsonGenerator[] gen = {null};
+        try {
+            RawSearchService.RawPage result = rawSearch.search(indexName, request, "hits.total.value,hits.hits._source",
+                    new RawSearchService.HitHandler() {
+                        @Override
+                        public void total(long total) throws IOException {
+                            gen[0] = startRawResponse(out, keyword, pageSize, pageNo, total);
+                        }
+
+                        @Override
+                        public void source(JsonParser parser) throws IOException {
+                            if (gen[0] == null) gen[0] = startRawResponse(out, keyword, pageSize, pageNo, 0);
+                            gen[0].copyCurrentStructure(parser);
+                        }
+                    });
+            if (gen[0] == null) {
+                gen[0] = startRawResponse(out, keyword, pageSize, pageNo, 0);
+            }
+            gen[0].writeEndArray();
+            gen[0].writeNullField("nextCursor");
+            gen[0].writeEndObject();
+            gen[0].close();
+            metrics.record("search-raw", startTime, null, result.hits(), keyword);
+        } catch (IOException | RuntimeException e) {
+            // 생성기를 닫지 않음: 중간 실패 시 닫는 괄호를 채워 정상 응답처럼 보이게 하지 않음 (연결 중단/5xx)
+            metrics.recordFailure("search-raw", startTime);
+            throw e;
+        }
+    }
+
+    /**
+     * raw 응답 생성기 생성 + 머리 기록 (results 배열 시작까지)
+     * AUTO_CLOSE_JSON_CONTENT를 끄므로 정상 종료 경로에서 직접 닫은 응답만 완결된 JSON이 됨
+     */
+    private static JsonGenerator startRawResponse(OutputStream out, String keyword, int pageSize, int pageNo,
+                                                  long total) throws IOException {
+        JsonGenerator gen = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8);
+        gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        gen.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        gen.writeStartObject();
+        gen.writeStringField("query", keyword);
+        gen.writeNumberField("size", pageSize);
+        gen.writeNumberField("page", pageNo);
+        gen.writeNumberField("total", total);
+        gen.writeNumberField("totalPages", (int) Math.max(1, (long) Math.ceil((double) total / pageSize)));
+        gen.writeArrayFieldStart("results");
+        return gen;
+    }
+
+    /**
+     * 커서 기반 상품 검색 (PIT + search_after)
+     * - 첫 페이지(cursor 없음)에서 PIT를 열고, 이후 페이지는 이전 페이지 마지막 정렬 값 다음부터 조회
+     * - 정렬: _score 내림차순 + _shard_doc(PIT 내 고유) 타이브레이커 -> 깊이와 무관하게 페이지 비용 일정
+     * - 마지막 페이지에서 PIT를 닫음 (중간에 중단된 커서는 keep-alive 경과 후 자동 만료)
+     */
+    public CompletableFuture<CursorPage> searchWithCursor(String keyword, String field, int size, String cursor) {
+        if (cursor != null && !cursor.isBlank()) {
+            SearchCursor current;
+            try {
+                current = SearchCursor.decode(cursor, cursorKey(), maxSize);
+            } catch (IllegalArgumentException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+            return fetchCursorPage(current);
+        }
+        if (size > maxSize) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("size는 " + maxSize + " 이하여야 합니다."));
+        }
+        int pageSize = size <= 0 ? 10 : size;
+        return esClient.openPointInTime(o -> o.index(indexName).keepAlive(k -> k.time(cursorKeepAlive)))
+                .thenCompose(pit -> fetchCursorPage(new SearchCursor(pit.id(), null, keyword, field, pageSize, 1, 0)));
+    }
+
+    /**
+     * 커서 조기 종료 (PIT 해제)
+     */
+    public CompletableFuture<Void> closeCursor(String cursor) {
+        try {
+            return closePointInTime(SearchCursor.decode(cursor, cursorKey(), maxSize).pitId());
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private CompletableFuture<CursorPage> fetchCursorPage(SearchCursor cursor) {
+        boolean first = cursor.searchAfter() == null;
+        Query query = buildQuery(cursor.q(), cursor.field());
+        SearchRequest request = SearchRequest.of(sr -> {
+            sr.pit(p -> p.id(cursor.pitId()).keepAlive(k -> k.time(cursorKeepAlive)))
+              .size(cursor.size())
+              .query(query)
+              .sort(so -> so.score(sc -> sc.order(SortOrder.Desc)))
+              .sort(so -> so.field(f -> f.field("_shard_doc").order(SortOrder.Asc)))
+              // 전체 건수는 첫 페이지에서만 계산하고 커서에 실어 전달
+              .trackTotalHits(t -> t.enabled(first));
+            if (!first) sr.searchAfter(cursor.searchAfterValues());
+            return sr;
+        });
+
+        long startTime = System.nanoTime();
+        return esClient.search(request, Map.class).whenComplete((raw, e) -> {
+            if (e != null) metrics.recordFailure("search-cursor", startTime);
+        }).thenCompose(raw -> {
+            @SuppressWarnings("unchecked")
+            SearchResponse<Map<String, Object>> response = (SearchResponse<Map<String, Object>>) (SearchResponse<?>) raw;
+
+            List<Hit<Map<String, Object>>> hits = response.hits().hits();
+            long total = first && response.hits().total() != null ? response.hits().total().value() : cursor.total();
+            List<Map<String, Object>> list = hits.stream().map(Hit::source).collect(Collectors.toList());
+            SearchResult result = new SearchResult(total, Collections.unmodifiableList(list));
+
+            metrics.record("search-cursor", startTime, response, list.size(), cursor.q());
+
+            // PIT ID는 요청마다 바뀔 수 있으므로 최신 값 사용
+            String pitId = response.pitId() != null ? response.pitId() : cursor.pitId();
+            if (hits.size() < cursor.size()) {
+                return closePointInTime(pitId)
+                        .thenApply(v -> new CursorPage(result, cursor.q(), cursor.page(), cursor.size(), null));
+            }
+            String next = cursor.next(pitId, hits.get(hits.size() - 1).sort(), total).encode(cursorKey());
+            return CompletableFuture.completedFuture(new CursorPage(result, cursor.q(), cursor.page(), cursor.size(), next));
+        });
+    }
+
+    private byte[] cursorKey() {
+        return cursorSecret == null || cursorSecret.isBlank()
+                ? instanceCursorKey
+                : cursorSecret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] randomKey() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return key;
+    }
+
+    private CompletableFuture<Void> closePointInTime(String pitId) {
+        return esClient.closePointInTime(c -> c.id(pitId)).handle((response, e) -> {
+            if (e != null) {
+                log.warn("PIT 해제 실패 (keep-alive 경과 후 자동 만료): {}", e.getMessage());
+            }
+            return null;
+        });
+    }
+
+    /**
+     * _source includes/excludes 적용 (목록 화면 등에서 필요한 필드만 가져와 fetch/전송/파싱 비용 절감)
+     */
+    private static SearchRequest.Builder applyProjection(SearchRequest.Builder sr, SourceProjection projection) {
+        if (projection == null || projection.isFull()) return sr;
+        return sr.source(src -> src
+                .filter(f -> f
+                        .includes(projection.includes())
+                        .excludes(projection.excludes())
+                )
+        );
+    }
+
+    /**
+     * 검색어/필드 선택에 맞는 상품 검색 쿼리 (offset 페이징, cursor 페이징, export 공용)
+     */
+    Query buildQuery(String keyword, String field) {
         String q = (keyword == null || keyword.isBlank()) ? "*" : keyword.trim();
 
         Query query;
@@ -118,93 +403,132 @@ public class SearchService {
             }
         }
 
-        SearchRequest request = SearchRequest.of(sr -> sr
-                .index(indexName)
-                .from(start)
-                .size(pageSize)
-                .query(query)
-        );
-
-        // Log request parameters
-        logRequest("search", request, keyword, field, size, from);
-
-        long startTime = System.currentTimeMillis();
-        @SuppressWarnings("unchecked")
-        SearchResponse<Map<String, Object>> response = (SearchResponse<Map<String, Object>>) (SearchResponse<?>) esClient.search(request, Map.class);
-        long elapsedTime = System.currentTimeMillis() - startTime;
+        return query;
+    }
 
-        long total = 0L;
-        if (response.hits() != null && response.hits().total() != null) {
-            total = response.hits().total().value();
+    /**
+     * 자동완성 (비동기)
+     * - 인메모리 접두어/초성 인덱스가 준비되어 있으면 Elasticsearch 왕복 없이 즉시 완료
+     * - 인덱스에 없는 접두어는 Elasticsearch로 대체 (동일 prefix/limit 동시 요청은 하나의 호출로 병합)
+     */
+    public CompletableFuture<List<String>> suggestAsync(String prefix, int limit) {
+        String pfx = prefix == null ? "" : prefix.trim();
+        int size = limit <= 0 ? 8 : limit;
+        if (pfx.isEmpty()) return CompletableFuture.completedFuture(List.of());
+        if (localSuggest.isReady()) {
+            long startTime = System.nanoTime();
+            List<String> local = localSuggest.suggest(pfx, size);
+            if (!local.isEmpty()) {
+                metrics.record("suggest-local", startTime, null, local.size(), pfx);
+                return CompletableFuture.completedFuture(local);
+            }
         }
-        List<Map<String, Object>> list = Objects.requireNonNull(response.hits()).hits().stream()
-                .map(hit -> (Map<String, Object>) hit.source())
-                .collect(Collectors.toList());
-
-        // Log response parameters
-        logResponse("search", response, total, list.size(), elapsedTime);
+        // 요청에 그대로 쓰는 접두어를 키로 사용 (대소문자만 다른 요청이 다른 결과를 공유하지 않도록)
+        return suggestFlights.executeAsync(new SuggestKey(pfx, size),
+                () -> suggestFromElasticsearch(pfx, size).thenApply(Collections::unmodifiableList));
+    }
 
-        return new SearchResult(total, list);
+    /**
+     * 동시 호출 병합 통계
+     */
+    public CoalescingStats coalescingStats() {
+        return new CoalescingStats(searchFlights.calls(), searchFlights.collapsed(),
+                suggestFlights.calls(), suggestFlights.collapsed());
     }
 
-    public List<String> suggest(String prefix, int limit) throws IOException {
-        String pfx = prefix == null ? "" : prefix.trim();
-        int size = limit <= 0 ? 8 : limit;
-        if (pfx.isEmpty()) return List.of();
+    /**
+     * completion suggester 결과가 없으면 접두어 검색으로 대체
+     * 두 요청을 하나의 _msearch로 함께 보내 completion 결과가 비어도 추가 왕복 없이 대체 결과 사용
+     * (접두어 검색 비용은 항상 들지만 size가 작은 _source 필터 검색이라 왕복 한 번보다 저렴)
+     */
+    private CompletableFuture<List<String>> suggestFromElasticsearch(String pfx, int size) {
+        MsearchRequest req = MsearchRequest.of(m -> m
+                .index(indexName)
+                .searches(s -> s
+                        .header(h -> h)
+                        .body(b -> b
+                                .suggest(completionSuggester(pfx, size))
+                                .size(0)
+                        )
+                )
+                .searches(s -> s
+                        .header(h -> h)
+                        .body(b -> b
+                                .size(size)
+                                .query(prefixQuery(pfx))
+                                .source(src -> src
+                                        .filter(f -> f
+                                                .includes("goods_name", suggestTextField)
+                                        )
+                                )
+                        )
+                )
+        );
 
-        // 1) Try completion suggester on configured field (if available)
-        List<String> out = new ArrayList<>();
-        try {
-            SearchRequest req = SearchRequest.of(sr -> sr
-                    .index(indexName)
-                    .suggest(s -> s
-                            .suggesters("auto-suggest", fs -> fs
-                                    .prefix(pfx)
-                                    .completion(c -> c
-                                            .field(suggestField)
-                                            .skipDuplicates(true)
-                                            .size(size)
-                                    )
-                            )
-                    )
-                    .size(0)
-            );
+        long startTime = System.nanoTime();
+        return esClient.msearch(req, Map.class).thenApply(resp -> {
+            MultiSearchResponseItem<Map> completion = resp.responses().get(0);
+            MultiSearchResponseItem<Map> fallback = resp.responses().get(1);
+
+            // 1) completion suggester 결과 (실패 시 무시하고 대체 결과 사용)
+            if (completion.isResult()) {
+                List<String> out = completionOptions(completion.result(), size);
+                if (!out.isEmpty()) {
+                    metrics.record("suggest-completion", startTime, completion.result(), out.size(), pfx);
+                    return out;
+                }
+            }
+            // 2) 접두어 검색 결과
+            if (fallback.isFailure()) {
+                throw new IllegalStateException(fallback.failure().error().reason());
+            }
+            List<String> result = prefixMatches(fallback.result(), size);
+            metrics.record("suggest-fallback", startTime, fallback.result(), result.size(), pfx);
+            return result;
+        }).whenComplete((result, e) -> {
+            if (e != null) metrics.recordFailure("suggest", startTime);
+        });
+    }
 
-            // Log request parameters
-            logRequest("suggest-completion", req, prefix, limit);
+    // 1) completion suggester on configured field (if available)
+    private Suggester completionSuggester(String pfx, int size) {
+        return Suggester.of(s -> s
+                .suggesters("auto-suggest", fs -> fs
+                        .prefix(pfx)
+                        .completion(c -> c
+                                .field(suggestField)
+                                .skipDuplicates(true)
+                                .size(size)
+                        )
+                )
+        );
+    }
 
-            long startTime = System.currentTimeMillis();
-            @SuppressWarnings("unchecked")
-            SearchResponse<Map<String, Object>> resp = (SearchResponse<Map<String, Object>>) (SearchResponse<?>) esClient.search(req, Map.class);
-            long elapsedTime = System.currentTimeMillis() - startTime;
-
-            // Log response parameters
-            logResponse("suggest-completion", resp, 0, out.size(), elapsedTime);
-
-            if (resp.suggest() != null && resp.suggest().containsKey("auto-suggest")) {
-                var sugList = resp.suggest().get("auto-suggest");
-                if (sugList != null) {
-                    for (var sug : sugList) {
-                        if (sug.completion() == null) continue;
-                        for (var opt : sug.completion().options()) {
-                            if (opt.text() != null && !opt.text().isEmpty()) {
-                                String t = opt.text();
-                                if (!out.contains(t)) out.add(t);
-                                if (out.size() >= size) break;
-                            }
+    private static List<String> completionOptions(ResponseBody<?> resp, int size) {
+        List<String> out = new ArrayList<>();
+        if (resp.suggest() != null && resp.suggest().containsKey("auto-suggest")) {
+            var sugList = resp.suggest().get("auto-suggest");
+            if (sugList != null) {
+                for (var sug : sugList) {
+                    if (!sug.isCompletion()) continue;
+                    for (var opt : sug.completion().options()) {
+                        if (opt.text() != null && !opt.text().isEmpty()) {
+                            String t = opt.text();
+                            if (!out.contains(t)) out.add(t);
+                            if (out.size() >= size) break;
                         }
-                        if (out.size() >= size) break;
                     }
+                    if (out.size() >= size) break;
                 }
             }
-        } catch (Exception ignored) {
-            // ignore and fallback to text-based suggestion
         }
-        if (!out.isEmpty()) return out;
+        return out;
+    }
 
-        // 2) Fallback: prefix search supporting 초성(goods_name_chosung) 과 본문(goods_name)
+    // 2) Fallback: prefix search supporting 초성(goods_name_chosung) 과 본문(goods_name)
+    private Query prefixQuery(String pfx) {
         boolean chosung = isChosungLike(pfx);
-        Query prefixQuery = chosung
+        return chosung
                 ? Query.of(qb -> qb
                         .matchPhrasePrefix(mpp -> mpp
                                 .field("goods_name_chosung")
@@ -217,25 +541,9 @@ public class SearchService {
                                 .should(s2 -> s2.matchPhrasePrefix(mpp -> mpp.field("goods_name_chosung").query(pfx)))
                         )
                 );
+    }
 
-        SearchRequest fallbackReq = SearchRequest.of(sr -> sr
-                .index(indexName)
-                .size(size)
-                .query(prefixQuery)
-                .source(src -> src
-                        .filter(f -> f
-                                .includes("goods_name", suggestTextField)
-                        )
-                )
-        );
-
-        // Log request parameters
-        logRequest("suggest-fallback", fallbackReq, prefix, limit);
-
-        long startTime = System.currentTimeMillis();
-        @SuppressWarnings("unchecked")
-        SearchResponse<Map<String, Object>> fbResp = (SearchResponse<Map<String, Object>>) (SearchResponse<?>) esClient.search(fallbackReq, Map.class);
-        long elapsedTime = System.currentTimeMillis() - startTime;
+    private List<String> prefixMatches(ResponseBody<?> fbResp, int size) {
         Set<String> unique = new LinkedHashSet<>();
         fbResp.hits().hits().forEach(hit -> {
             Object src = hit.source();
@@ -248,55 +556,6 @@ public class SearchService {
                 }
             }
         });
-        List<String> result = new ArrayList<>(unique).stream().limit(size).collect(Collectors.toList());
-
-        // Log response parameters
-        logResponse("suggest-fallback", fbResp, fbResp.hits().total() != null ? fbResp.hits().total().value() : 0, result.size(), elapsedTime);
-
-        return result;
-    }
-
-    private void logRequest(String operation, SearchRequest request, Object... params) {
-        log.info("=== Elasticsearch {} Request ===", operation);
-        log.info("Index: {}", request.index() != null ? String.join(",", request.index()) : "N/A");
-        if (request.from() != null) {
-            log.info("From: {}", request.from());
-        }
-        if (request.size() != null) {
-            log.info("Size: {}", request.size());
-        }
-        try {
-            if (request.query() != null) {
-                log.info("Query Type: {}", request.query()._kind());
-            }
-        } catch (Exception e) {
-            log.info("Could not get query type: {}", e.getMessage());
-        }
-        try {
-            if (request.suggest() != null) {
-                log.info("Has Suggest: true");
-            }
-        } catch (Exception e) {
-            log.info("Could not check suggest: {}", e.getMessage());
-        }
-        if (params != null && params.length > 0) {
-            log.info("Parameters: {}", java.util.Arrays.toString(params));
-        }
-        log.info("================================");
-    }
-
-    private void logResponse(String operation, SearchResponse<?> response, long total, int resultCount, long elapsedTime) {
-        log.info("=== Elasticsearch {} Response ===", operation);
-        log.info("Total Hits: {}", total);
-        log.info("Returned Results: {}", resultCount);
-        log.info("Elapsed Time: {} ms", elapsedTime);
-        log.info("ES Took: {} ms", response.took());
-        if (response.shards() != null) {
-            log.info("Total Shards: {}, Successful: {}, Failed: {}", 
-                    response.shards().total(), 
-                    response.shards().successful(), 
-                    response.shards().failed());
-        }
-        log.info("=================================");
+        return unique.stream().limit(size).collect(Collectors.toList());
     }
 }
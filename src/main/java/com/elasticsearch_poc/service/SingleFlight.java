@@ -0,0 +1,61 @@
+package com.elasticsearch_poc.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 동일 키 동시 호출 병합 (single-flight)
+ * 같은 키로 진행 중인 호출이 있으면 새로 실행하지 않고 그 결과를 함께 기다림
+ * 결과 객체는 호출자 간에 공유되므로 변경 불가 값만 반환해야 함
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder collapsed = new LongAdder();
+
+    /**
+     * 진행 중인 호출이 없으면 call로 비동기 호출 시작, 있으면 진행 중인 호출의 결과를 공유
+     * 호출이 끝나는 즉시(성공/실패 모두) 키를 비워 다음 호출은 새로 실행
+     */
+    public CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> call) {
+        calls.increment();
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            collapsed.increment();
+            return existing;
+        }
+        CompletableFuture<V> started;
+        try {
+            started = call.get();
+        } catch (Exception e) {
+            started = CompletableFuture.failedFuture(e);
+        }
+        started.whenComplete((value, error) -> {
+            inFlight.remove(key, mine);
+            if (error != null) {
+                mine.completeExceptionally(error);
+            } else {
+                mine.complete(value);
+            }
+        });
+        return mine;
+    }
+
+    /**
+     * 전체 호출 수
+     */
+    public long calls() {
+        return calls.sum();
+    }
+
+    /**
+     * 진행 중인 호출에 합쳐져 실제 실행되지 않은 호출 수
+     */
+    public long collapsed() {
+        return collapsed.sum();
+    }
+}
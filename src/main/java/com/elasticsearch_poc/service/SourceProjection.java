@@ -0,0 +1,52 @@
+package com.elasticsearch_poc.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 검색 결과 _source 필터 (includes/excludes)
+ * 결과 캐시 키에 포함되므로 정규화된(정렬/중복 제거) 목록으로 보관
+ */
+public record SourceProjection(List<String> includes, List<String> excludes) {
+
+    // 필드명/와일드카드만 허용 (예: goods_name, price.*, *_code)
+    private static final Pattern FIELD = Pattern.compile("[A-Za-z0-9_.*]+");
+
+    /**
+     * 전체 _source
+     */
+    public static final SourceProjection FULL = new SourceProjection(List.of(), List.of());
+
+    public SourceProjection {
+        includes = normalize(includes);
+        excludes = normalize(excludes);
+    }
+
+    /**
+     * 쉼표로 구분한 필드 목록 (예: "goods_code,goods_name")
+     * @throws IllegalArgumentException 허용되지 않는 필드명
+     */
+    public static SourceProjection ofFields(String csv) {
+        return new SourceProjection(Arrays.asList(csv.split(",")), List.of());
+    }
+
+    public boolean isFull() {
+        return includes.isEmpty() && excludes.isEmpty();
+    }
+
+    private static List<String> normalize(List<String> fields) {
+        if (fields == null) return List.of();
+        return fields.stream()
+                .map(String::trim)
+                .filter(f -> !f.isEmpty())
+                .peek(f -> {
+                    if (!FIELD.matcher(f).matches()) {
+                        throw new IllegalArgumentException("허용되지 않는 필드입니다: " + f);
+                    }
+                })
+                .distinct()
+                .sorted()
+                .toList();
+    }
+}
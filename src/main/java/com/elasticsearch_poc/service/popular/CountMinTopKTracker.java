@@ -0,0 +1,132 @@
+package com.elasticsearch_poc.service.popular;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Count-Min Sketch + 최소 힙 기반 Top-K 추적기
+ * - 빈도는 width x depth 카운터 행렬로 추정 (과대 추정만 발생)
+ * - 추정 오차는 확률 confidence로 epsilon * N 이하
+ * - 힙은 추정 빈도 상위 capacity개 검색어만 유지
+ */
+public class CountMinTopKTracker implements HeavyHitterTracker {
+
+    private final int capacity;
+    private final double epsilon;
+    private final int width;
+    private final int depth;
+    private final long[][] counters;
+    private final IndexedMinHeap heap;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long total;
+
+    /**
+     * @param capacity 추적할 상위 검색어 수
+     * @param epsilon 상대 오차 (width = ceil(e / epsilon))
+     * @param confidence 오차 보장 확률 (depth = ceil(ln(1 / (1 - confidence))))
+     */
+    public CountMinTopKTracker(int capacity, double epsilon, double confidence) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        if (epsilon <= 0 || epsilon >= 1 || confidence <= 0 || confidence >= 1) {
+            throw new IllegalArgumentException("epsilon and confidence must be in (0, 1)");
+        }
+        this.capacity = capacity;
+        this.epsilon = epsilon;
+        this.width = (int) Math.ceil(Math.E / epsilon);
+        this.depth = (int) Math.ceil(Math.log(1.0 / (1.0 - confidence)));
+        this.counters = new long[depth][width];
+        this.heap = new IndexedMinHeap(capacity);
+    }
+
+    @Override
+    public void offer(String keyword) {
+        lock.lock();
+        try {
+            total++;
+            long estimate = increment(keyword);
+            IndexedMinHeap.Node node = heap.get(keyword);
+            if (node != null) {
+                heap.increase(node, estimate);
+            } else if (!heap.isFull()) {
+                heap.insert(keyword, estimate, 0);
+            } else if (estimate > heap.min().count) {
+                heap.replaceMin(keyword, estimate, 0);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<HeavyHitter> topK(int limit) {
+        lock.lock();
+        try {
+            long error = errorBound();
+            return heap.sortedDescending(limit).stream()
+                    .map(h -> new HeavyHitter(h.keyword(), h.count(), error))
+                    .toList();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long totalCount() {
+        lock.lock();
+        try {
+            return total;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return heap.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 스케치 카운터 수 (width x depth)
+     */
+    public long counterCount() {
+        return (long) width * depth;
+    }
+
+    private long errorBound() {
+        return (long) Math.ceil(epsilon * total);
+    }
+
+    // Kirsch-Mitzenmacher: 두 해시의 선형 결합으로 depth개 행의 위치 계산
+    private long increment(String keyword) {
+        int h1 = mix(keyword.hashCode());
+        int h2 = mix(h1 ^ 0x9E3779B9);
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int col = Math.floorMod(h1 + row * h2, width);
+            long value = ++counters[row][col];
+            if (value < min) min = value;
+        }
+        return min;
+    }
+
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
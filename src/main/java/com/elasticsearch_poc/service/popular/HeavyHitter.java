@@ -0,0 +1,10 @@
+package com.elasticsearch_poc.service.popular;
+
+/**
+ * 상위 빈도 검색어 항목
+ * @param keyword 검색어
+ * @param count 추정 빈도 (실제 빈도 이상)
+ * @param error 추정 빈도의 최대 오차 (실제 빈도 >= count - error)
+ */
+public record HeavyHitter(String keyword, long count, long error) {
+}
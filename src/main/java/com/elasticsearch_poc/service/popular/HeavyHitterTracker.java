@@ -0,0 +1,35 @@
+package com.elasticsearch_poc.service.popular;
+
+import java.util.List;
+
+/**
+ * 고정 메모리로 상위 빈도 검색어(Top-K)를 추적하는 엔진
+ * 구현체: Space-Saving, Count-Min Sketch + Heap
+ */
+public interface HeavyHitterTracker {
+
+    /**
+     * 검색어 1회 발생 기록
+     */
+    void offer(String keyword);
+
+    /**
+     * 빈도 내림차순 상위 검색어
+     */
+    List<HeavyHitter> topK(int limit);
+
+    /**
+     * 지금까지 기록된 전체 발생 횟수
+     */
+    long totalCount();
+
+    /**
+     * 추적 가능한 최대 검색어 수 (메모리 예산)
+     */
+    int capacity();
+
+    /**
+     * 현재 추적 중인 검색어 수
+     */
+    int size();
+}
@@ -0,0 +1,131 @@
+package com.elasticsearch_poc.service.popular;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 키 → 위치 인덱스를 유지하는 최소 힙 (빈도 증가 시 O(log K) 재정렬)
+ * 동기화는 호출 측에서 담당
+ */
+final class IndexedMinHeap {
+
+    static final class Node {
+        String key;
+        long count;
+        long error;
+        int pos;
+
+        private Node(String key, long count, long error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+    }
+
+    private final Node[] heap;
+    private final Map<String, Node> index;
+    private int size;
+
+    IndexedMinHeap(int capacity) {
+        this.heap = new Node[capacity];
+        this.index = new HashMap<>(capacity * 4 / 3 + 1);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isFull() {
+        return size == heap.length;
+    }
+
+    Node get(String key) {
+        return index.get(key);
+    }
+
+    Node min() {
+        return size == 0 ? null : heap[0];
+    }
+
+    void insert(String key, long count, long error) {
+        Node node = new Node(key, count, error);
+        node.pos = size;
+        heap[size++] = node;
+        index.put(key, node);
+        siftUp(node.pos);
+    }
+
+    /**
+     * 빈도가 증가한 노드를 아래로 내려 힙 속성 유지
+     */
+    void increase(Node node, long count) {
+        node.count = count;
+        siftDown(node.pos);
+    }
+
+    /**
+     * 최소 노드를 새 키로 교체
+     */
+    void replaceMin(String key, long count, long error) {
+        Node node = heap[0];
+        index.remove(node.key);
+        node.key = key;
+        node.count = count;
+        node.error = error;
+        index.put(key, node);
+        siftDown(0);
+    }
+
+    /**
+     * 빈도 내림차순 정렬된 상위 항목
+     */
+    List<HeavyHitter> sortedDescending(int limit) {
+        List<Node> nodes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            nodes.add(heap[i]);
+        }
+        nodes.sort(Comparator.<Node>comparingLong(n -> n.count).reversed());
+        int n = Math.min(limit, nodes.size());
+        List<HeavyHitter> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Node node = nodes.get(i);
+            out.add(new HeavyHitter(node.key, node.count, node.error));
+        }
+        return out;
+    }
+
+    private void siftUp(int pos) {
+        Node node = heap[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (heap[parent].count <= node.count) break;
+            place(heap[parent], pos);
+            pos = parent;
+        }
+        place(node, pos);
+    }
+
+    private void siftDown(int pos) {
+        Node node = heap[pos];
+        int half = size >>> 1;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            int right = child + 1;
+            if (right < size && heap[right].count < heap[child].count) {
+                child = right;
+            }
+            if (node.count <= heap[child].count) break;
+            place(heap[child], pos);
+            pos = child;
+        }
+        place(node, pos);
+    }
+
+    private void place(Node node, int pos) {
+        heap[pos] = node;
+        node.pos = pos;
+    }
+}
@@ -0,0 +1,52 @@
+package com.elasticsearch_poc.service.popular;
+
+import java.time.Duration;
+
+/**
+ * 인기 검색어 집계 구간
+ */
+public enum PopularWindow {
+    ALL("all", null),
+    LAST_5M("5m", Duration.ofMinutes(5)),
+    LAST_1H("1h", Duration.ofHours(1)),
+    LAST_24H("24h", Duration.ofHours(24));
+
+    private final String code;
+    private final Duration duration;
+
+    PopularWindow(String code, Duration duration) {
+        this.code = code;
+        this.duration = duration;
+    }
+
+    public String code() {
+        return code;
+    }
+
+    /**
+     * 집계 구간 길이 (ALL은 null)
+     */
+    public Duration duration() {
+        return duration;
+    }
+
+    /**
+     * Elasticsearch date math 하한 (예: now-5m), ALL은 null
+     */
+    public String esLowerBound() {
+        return duration == null ? null : "now-" + code;
+    }
+
+    /**
+     * 요청 파라미터 값으로 변환 (null/공백은 ALL)
+     * @throws IllegalArgumentException 지원하지 않는 값
+     */
+    public static PopularWindow from(String value) {
+        if (value == null || value.isBlank()) return ALL;
+        String v = value.trim();
+        for (PopularWindow w : values()) {
+            if (w.code.equalsIgnoreCase(v)) return w;
+        }
+        throw new IllegalArgumentException("Unsupported window: " + value);
+    }
+}
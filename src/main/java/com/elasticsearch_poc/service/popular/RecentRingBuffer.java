@@ -0,0 +1,69 @@
+package com.elasticsearch_poc.service.popular;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 최근 검색어용 고정 크기 lock-free 링 버퍼
+ * - 쓰기: 원자적 커서 하나로 슬롯 번호를 예약한 뒤 불변 항목을 기록 (락 없음, 크기 조정 없음)
+ * - 읽기: 커서에서 거꾸로 최신 N개만 읽고, 슬롯의 시퀀스가 기대값과 다르면
+ *   (아직 기록 전이거나 더 새 항목으로 덮어쓴 경우) 건너뜀
+ */
+public class RecentRingBuffer {
+
+    /**
+     * 최근 검색어 항목
+     * @param seq 기록 순번 (0부터 증가)
+     */
+    public record Entry(long seq, String keyword, long ts) {}
+
+    private final int capacity;
+    private final AtomicReferenceArray<Entry> slots;
+    private final AtomicLong cursor = new AtomicLong();
+
+    public RecentRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    public void add(String keyword, long ts) {
+        long seq = cursor.getAndIncrement();
+        slots.set(slot(seq), new Entry(seq, keyword, ts));
+    }
+
+    /**
+     * 최신순 최대 limit개 항목 (전체 버퍼를 복사하지 않음)
+     */
+    public List<Entry> newest(int limit) {
+        long end = cursor.get();
+        long oldest = Math.max(0, end - capacity);
+        int n = (int) Math.min(Math.min(limit, capacity), end);
+        List<Entry> out = new ArrayList<>(Math.max(n, 0));
+        for (long seq = end - 1; seq >= oldest && out.size() < n; seq--) {
+            Entry entry = slots.get(slot(seq));
+            if (entry == null || entry.seq() != seq) continue;
+            out.add(entry);
+        }
+        return out;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * 기록된 항목 수 (capacity를 넘지 않음)
+     */
+    public int size() {
+        return (int) Math.min(cursor.get(), capacity);
+    }
+
+    private int slot(long seq) {
+        return (int) (seq % capacity);
+    }
+}
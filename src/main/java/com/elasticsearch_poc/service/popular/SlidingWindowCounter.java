@@ -0,0 +1,99 @@
+package com.elasticsearch_poc.service.popular;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 시간 버킷 링 기반 슬라이딩 윈도우 Top-K 카운터
+ * - 버킷마다 고정 크기 Space-Saving 추적기를 두고, 버킷 시각이 지나면 새 버킷으로 교체
+ * - 조회 시 구간에 포함되는 버킷만 합산하므로 CPU/메모리는 버킷 수 x 버킷 용량으로 제한
+ */
+public class SlidingWindowCounter {
+
+    private record Bucket(long epoch, SpaceSavingTracker tracker) {}
+
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final int bucketCapacity;
+    private final AtomicReferenceArray<Bucket> ring;
+
+    /**
+     * @param bucketMillis 버킷 하나의 시간 길이
+     * @param bucketCount 링에 유지할 버킷 수 (최대 조회 구간 = bucketMillis x bucketCount)
+     * @param bucketCapacity 버킷별 추적 검색어 수
+     */
+    public SlidingWindowCounter(long bucketMillis, int bucketCount, int bucketCapacity) {
+        if (bucketMillis <= 0 || bucketCount <= 0 || bucketCapacity <= 0) {
+            throw new IllegalArgumentException("bucketMillis, bucketCount and bucketCapacity must be positive");
+        }
+        this.bucketMillis = bucketMillis;
+        this.bucketCount = bucketCount;
+        this.bucketCapacity = bucketCapacity;
+        this.ring = new AtomicReferenceArray<>(bucketCount);
+    }
+
+    public void offer(String keyword, long now) {
+        long epoch = now / bucketMillis;
+        int idx = (int) (epoch % bucketCount);
+        Bucket bucket = ring.get(idx);
+        // 지난 구간의 버킷이면 새 버킷으로 교체 (경쟁 시 한 스레드만 성공)
+        while (bucket == null || bucket.epoch() < epoch) {
+            Bucket fresh = new Bucket(epoch, new SpaceSavingTracker(bucketCapacity));
+            if (ring.compareAndSet(idx, bucket, fresh)) {
+                bucket = fresh;
+                break;
+            }
+            bucket = ring.get(idx);
+        }
+        // 시계가 되돌아간 경우(이미 더 새 버킷) 해당 기록은 버림
+        if (bucket.epoch() == epoch) {
+            bucket.tracker().offer(keyword);
+        }
+    }
+
+    /**
+     * 링 전체에서 추적 중인 검색어 수 (버킷별 합, 메모리 사용량 지표)
+     */
+    public int trackedKeywords() {
+        int total = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            Bucket bucket = ring.get(i);
+            if (bucket != null) total += bucket.tracker().size();
+        }
+        return total;
+    }
+
+    /**
+     * 링 전체의 최대 추적 검색어 수
+     */
+    public int capacity() {
+        return bucketCount * bucketCapacity;
+    }
+
+    /**
+     * now 기준 최근 windowMillis 구간(버킷 단위로 올림)의 상위 검색어
+     * count/error는 버킷별 값의 합
+     */
+    public List<HeavyHitter> topK(int limit, long windowMillis, long now) {
+        long current = now / bucketMillis;
+        long buckets = Math.min(bucketCount, Math.max(1, (windowMillis + bucketMillis - 1) / bucketMillis));
+        Map<String, long[]> merged = new HashMap<>();
+        for (long epoch = current; epoch > current - buckets; epoch--) {
+            Bucket bucket = ring.get((int) (epoch % bucketCount));
+            if (bucket == null || bucket.epoch() != epoch) continue;
+            for (HeavyHitter hh : bucket.tracker().topK(bucketCapacity)) {
+                long[] acc = merged.computeIfAbsent(hh.keyword(), k -> new long[2]);
+                acc[0] += hh.count();
+                acc[1] += hh.error();
+            }
+        }
+        List<HeavyHitter> all = new ArrayList<>(merged.size());
+        merged.forEach((k, v) -> all.add(new HeavyHitter(k, v[0], v[1])));
+        all.sort(Comparator.comparingLong(HeavyHitter::count).reversed());
+        return all.size() > limit ? all.subList(0, limit) : all;
+    }
+}
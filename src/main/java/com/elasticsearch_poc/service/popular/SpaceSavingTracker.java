@@ -0,0 +1,80 @@
+package com.elasticsearch_poc.service.popular;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Space-Saving 알고리즘 기반 Top-K 추적기
+ * - 최대 capacity개의 카운터만 유지하고, 가득 차면 최소 카운터를 새 검색어로 교체
+ * - 각 항목의 error는 교체 시점의 최소 카운터 값 (실제 빈도 >= count - error)
+ * - 전체 N회 중 N/capacity 회를 초과하는 검색어는 반드시 추적됨
+ */
+public class SpaceSavingTracker implements HeavyHitterTracker {
+
+    private final int capacity;
+    private final IndexedMinHeap heap;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long total;
+
+    public SpaceSavingTracker(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.heap = new IndexedMinHeap(capacity);
+    }
+
+    @Override
+    public void offer(String keyword) {
+        lock.lock();
+        try {
+            total++;
+            IndexedMinHeap.Node node = heap.get(keyword);
+            if (node != null) {
+                heap.increase(node, node.count + 1);
+            } else if (!heap.isFull()) {
+                heap.insert(keyword, 1, 0);
+            } else {
+                long min = heap.min().count;
+                heap.replaceMin(keyword, min + 1, min);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<HeavyHitter> topK(int limit) {
+        lock.lock();
+        try {
+            return heap.sortedDescending(limit);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long totalCount() {
+        lock.lock();
+        try {
+            return total;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return heap.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
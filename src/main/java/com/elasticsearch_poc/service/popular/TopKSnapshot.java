@@ -0,0 +1,26 @@
+package com.elasticsearch_poc.service.popular;
+
+import java.util.List;
+
+/**
+ * 주기적으로 재발행되는 불변 Top-K 순위 스냅샷
+ * 읽기 측은 volatile 참조 하나만 읽으므로 순위가 섞여 보이지 않음
+ * @param version 발행 시점의 누적 발생 횟수 (변경 감지용)
+ * @param publishedAt 발행 시각 (epoch millis)
+ * @param items 빈도 내림차순으로 정렬된 상위 항목
+ */
+public record TopKSnapshot(long version, long publishedAt, List<HeavyHitter> items) {
+
+    public static final TopKSnapshot EMPTY = new TopKSnapshot(0, 0, List.of());
+
+    public TopKSnapshot {
+        items = List.copyOf(items);
+    }
+
+    /**
+     * 상위 limit개 항목 (정렬 없이 O(limit))
+     */
+    public List<HeavyHitter> top(int limit) {
+        return limit >= items.size() ? items : items.subList(0, limit);
+    }
+}
@@ -0,0 +1,48 @@
+package com.elasticsearch_poc.service.popular;
+
+import java.util.List;
+
+/**
+ * 구간별(5분/1시간/24시간) 인기 검색어 추적기
+ * - 5분/1시간: 1분 버킷 60개
+ * - 24시간: 1시간 버킷 24개
+ */
+public class WindowedHeavyHitters {
+
+    private static final long MINUTE = 60_000L;
+    private static final long HOUR = 60 * MINUTE;
+
+    private final SlidingWindowCounter minutes;
+    private final SlidingWindowCounter hours;
+
+    public WindowedHeavyHitters(int minuteBucketCapacity, int hourBucketCapacity) {
+        this.minutes = new SlidingWindowCounter(MINUTE, 60, minuteBucketCapacity);
+        this.hours = new SlidingWindowCounter(HOUR, 24, hourBucketCapacity);
+    }
+
+    public void offer(String keyword, long now) {
+        minutes.offer(keyword, now);
+        hours.offer(keyword, now);
+    }
+
+    /**
+     * 1분/1시간 버킷 링에서 추적 중인 검색어 수 합
+     */
+    public int trackedKeywords() {
+        return minutes.trackedKeywords() + hours.trackedKeywords();
+    }
+
+    public int capacity() {
+        return minutes.capacity() + hours.capacity();
+    }
+
+    public List<HeavyHitter> topK(PopularWindow window, int limit, long now) {
+        if (window.duration() == null) {
+            throw new IllegalArgumentException("Sliding window required: " + window);
+        }
+        long millis = window.duration().toMillis();
+        return millis <= HOUR
+                ? minutes.topK(limit, millis, now)
+                : hours.topK(limit, millis, now);
+    }
+}
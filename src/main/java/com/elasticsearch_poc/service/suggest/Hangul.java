@@ -0,0 +1,55 @@
+package com.elasticsearch_poc.service.suggest;
+
+import java.util.Locale;
+
+/**
+ * 한글 초성 분해 유틸리티
+ */
+public final class Hangul {
+
+    private static final char SYLLABLE_BASE = '가'; // 가
+    private static final char SYLLABLE_LAST = '힣'; // 힣
+    private static final int JUNG_JONG = 21 * 28;
+
+    // 초성 19자 (Hangul Compatibility Jamo)
+    private static final char[] CHOSUNG = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ',
+            'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+
+    private Hangul() {
+    }
+
+    /**
+     * 완성형 한글 음절을 초성으로 치환 (그 외 문자는 소문자로 유지)
+     * 예: "삼성 노트북" -> "ㅅㅅ ㄴㅌㅂ"
+     */
+    public static String toChosung(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            if (ch >= SYLLABLE_BASE && ch <= SYLLABLE_LAST) {
+                sb.append(CHOSUNG[(ch - SYLLABLE_BASE) / JUNG_JONG]);
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 한글 초성(ㄱ-ㅎ)만으로 구성되었는지 간단 체크 (공백 허용)
+     */
+    public static boolean isChosungLike(String s) {
+        if (s == null || s.isBlank()) return false;
+        for (int i = 0; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            if (Character.isWhitespace(ch)) continue;
+            // Hangul Compatibility Jamo range: 0x3131 (ㄱ) ~ 0x314E (ㅎ)
+            if (ch < 'ㄱ' || ch > 'ㅎ') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
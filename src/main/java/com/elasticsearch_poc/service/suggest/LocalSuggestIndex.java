@@ -0,0 +1,83 @@
+package com.elasticsearch_poc.service.suggest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 인메모리 자동완성 인덱스 (본문 + 초성)
+ * 각 문자열은 전체 문자열과 단어 시작 위치별 접미어로 등록되어
+ * "노트" 입력 시 "삼성 노트북"도 찾을 수 있음
+ */
+public final class LocalSuggestIndex {
+
+    private final String[] terms;
+    private final PrefixIndex text;
+    private final PrefixIndex chosung;
+    private final long builtAt;
+
+    private LocalSuggestIndex(String[] terms, PrefixIndex text, PrefixIndex chosung, long builtAt) {
+        this.terms = terms;
+        this.text = text;
+        this.chosung = chosung;
+        this.builtAt = builtAt;
+    }
+
+    /**
+     * @param termWeights 표시 문자열 -> 가중치
+     */
+    public static LocalSuggestIndex build(Map<String, Long> termWeights, long builtAt) {
+        String[] terms = new String[termWeights.size()];
+        List<PrefixIndex.Entry> textEntries = new ArrayList<>();
+        List<PrefixIndex.Entry> chosungEntries = new ArrayList<>();
+        int id = 0;
+        for (Map.Entry<String, Long> e : termWeights.entrySet()) {
+            String term = e.getKey();
+            long weight = e.getValue();
+            terms[id] = term;
+            String normalized = normalize(term);
+            addWordSuffixes(textEntries, normalized, id, weight);
+            addWordSuffixes(chosungEntries, Hangul.toChosung(normalized), id, weight);
+            id++;
+        }
+        return new LocalSuggestIndex(terms, new PrefixIndex(textEntries), new PrefixIndex(chosungEntries), builtAt);
+    }
+
+    /**
+     * 접두어 자동완성 (초성만 입력하면 초성 인덱스 사용)
+     */
+    public List<String> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty()) return List.of();
+        PrefixIndex index = Hangul.isChosungLike(normalized) ? chosung : text;
+        int[] ids = index.topK(normalized, limit);
+        List<String> out = new ArrayList<>(ids.length);
+        for (int i : ids) {
+            out.add(terms[i]);
+        }
+        return out;
+    }
+
+    public int termCount() {
+        return terms.length;
+    }
+
+    public long builtAt() {
+        return builtAt;
+    }
+
+    private static String normalize(String s) {
+        return s.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static void addWordSuffixes(List<PrefixIndex.Entry> entries, String key, int id, long weight) {
+        if (key.isEmpty()) return;
+        entries.add(new PrefixIndex.Entry(key, id, weight));
+        for (int i = 1; i < key.length(); i++) {
+            if (key.charAt(i - 1) == ' ') {
+                entries.add(new PrefixIndex.Entry(key.substring(i), id, weight));
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.elasticsearch_poc.service.suggest;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import com.elasticsearch_poc.service.PopularRecentService;
+import com.elasticsearch_poc.service.popular.PopularWindow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 인메모리 자동완성 서비스
+ * - oracle_products의 상품명 + 인기 검색어로 접두어/초성 인덱스를 만들어 Elasticsearch 왕복 없이 응답
+ * - 주기적으로 새 인덱스를 만든 뒤 참조만 교체 (조회 중인 요청은 이전 인덱스를 그대로 사용)
+ */
+@Service
+public class LocalSuggestService {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalSuggestService.class);
+
+    private final ElasticsearchClient esClient;
+    private final PopularRecentService popularRecentService;
+    private final SpellCorrectionService spellCorrection;
+
+    // 첫 빌드 전에는 null (호출 측에서 Elasticsearch로 대체)
+    private volatile LocalSuggestIndex index;
+
+    @Value("${elasticsearch.index}")
+    private String indexName;
+
+    @Value("${elasticsearch.suggestTextField:goods_name}")
+    private String suggestTextField;
+
+    @Value("${suggest.local.enabled:true}")
+    private boolean enabled;
+
+    // 인덱스에 담을 최대 상품명 수 (메모리 상한)
+    @Value("${suggest.local.max-products:200000}")
+    private int maxProducts;
+
+    // 상품명 수집 시 search_after 페이지 크기
+    @Value("${suggest.local.page-size:1000}")
+    private int pageSize;
+
+    // 인덱스에 포함할 인기 검색어 수
+    @Value("${suggest.local.popular-size:1000}")
+    private int popularSize;
+
+    public LocalSuggestService(ElasticsearchClient esClient,
+                               PopularRecentService popularRecentService,
+                               SpellCorrectionService spellCorrection) {
+        this.esClient = esClient;
+        this.popularRecentService = popularRecentService;
+        this.spellCorrection = spellCorrection;
+    }
+
+    public boolean isReady() {
+        return enabled && index != null;
+    }
+
+    /**
+     * 인메모리 인덱스에서 자동완성 (준비 전이면 빈 목록)
+     */
+    public List<String> suggest(String prefix, int limit) {
+        LocalSuggestIndex current = index;
+        if (!enabled || current == null) return List.of();
+        return current.suggest(prefix, limit);
+    }
+
+    /**
+     * 인덱스 재생성 후 원자적 교체 (실패 시 이전 인덱스 유지)
+     * 수집한 상품명으로 오타 교정 사전도 함께 재생성 (상품 인덱스를 한 번만 순회)
+     */
+    @Scheduled(initialDelayString = "${suggest.local.initial-delay-ms:5000}",
+               fixedDelayString = "${suggest.local.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        if (!enabled) return;
+        try {
+            long start = System.currentTimeMillis();
+            Map<String, Long> weights = new HashMap<>();
+            int products = collectProductNames(weights);
+            spellCorrection.rebuild(weights.keySet());
+            // 인기 검색어는 상품명보다 앞에 오도록 검색 횟수만큼 가중치 추가
+            for (Map<String, Object> item : popularRecentService.getPopular(popularSize, PopularWindow.ALL)) {
+                if (item.get("keyword") instanceof String keyword && !keyword.isBlank()
+                        && item.get("count") instanceof Number count) {
+                    weights.merge(keyword.trim(), count.longValue(), Long::sum);
+                }
+            }
+            LocalSuggestIndex built = LocalSuggestIndex.build(weights, Instant.now().toEpochMilli());
+            index = built;
+            log.info("🔤 자동완성 인덱스 갱신: products={}, terms={}, elapsed={}ms",
+                    products, built.termCount(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.warn("자동완성 인덱스 갱신 실패, 이전 인덱스 유지: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * PIT + search_after로 상품명 전체 수집 (from/size 깊은 페이징 한도를 피함)
+     * @return 수집한 상품 수
+     */
+    private int collectProductNames(Map<String, Long> weights) throws IOException {
+        String pitId = esClient.openPointInTime(p -> p.index(indexName).keepAlive(k -> k.time("1m"))).id();
+        int collected = 0;
+        try {
+            List<FieldValue> after = null;
+            while (collected < maxProducts) {
+                final String pit = pitId;
+                final List<FieldValue> searchAfter = after;
+                final int size = Math.min(pageSize, maxProducts - collected);
+                @SuppressWarnings("unchecked")
+                SearchResponse<Map<String, Object>> response = (SearchResponse<Map<String, Object>>) (SearchResponse<?>) esClient.search(s -> {
+                    s.pit(p -> p.id(pit).keepAlive(k -> k.time("1m")))
+                     .size(size)
+                     .trackTotalHits(t -> t.enabled(false))
+                     .sort(so -> so.field(f -> f.field("_shard_doc")))
+                     .source(src -> src.filter(f -> f.includes(suggestTextField)));
+                    if (searchAfter != null) s.searchAfter(searchAfter);
+                    return s;
+                }, Map.class);
+
+                List<Hit<Map<String, Object>>> hits = response.hits().hits();
+                if (hits.isEmpty()) break;
+                for (Hit<Map<String, Object>> hit : hits) {
+                    if (hit.source() != null && hit.source().get(suggestTextField) instanceof String name && !name.isBlank()) {
+                        weights.merge(name.trim(), 1L, Long::sum);
+                    }
+                }
+                collected += hits.size();
+                after = hits.get(hits.size() - 1).sort();
+                if (response.pitId() != null) pitId = response.pitId();
+            }
+        } finally {
+            final String pit = pitId;
+            esClient.closePointInTime(c -> c.id(pit));
+        }
+        return collected;
+    }
+}
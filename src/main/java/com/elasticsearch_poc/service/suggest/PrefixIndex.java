@@ -0,0 +1,107 @@
+package com.elasticsearch_poc.service.suggest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 불변 접두어 인덱스
+ * - 정렬된 키 배열에서 이진 탐색으로 접두어 구간을 찾고
+ * - 가중치 최댓값 세그먼트 트리로 구간 내 상위 K개를 O(K log n)에 선택 (구간 전체를 훑지 않음)
+ * - 같은 표시 문자열이 여러 키(단어 시작 위치)로 등록될 수 있으므로 결과에서 중복 제거
+ */
+public final class PrefixIndex {
+
+    /**
+     * 인덱스 항목
+     * @param key 정규화된 검색 키
+     * @param display 결과로 돌려줄 문자열 번호
+     * @param weight 순위 가중치 (클수록 우선)
+     */
+    public record Entry(String key, int display, long weight) {}
+
+    private final String[] keys;
+    private final int[] displays;
+    private final long[] weights;
+    private final int leafBase;
+    // 각 노드가 담당하는 구간의 최대 가중치 항목 번호 (-1: 빈 구간)
+    private final int[] tree;
+
+    public PrefixIndex(List<Entry> entries) {
+        Entry[] sorted = entries.toArray(new Entry[0]);
+        Arrays.sort(sorted, Comparator.comparing(Entry::key));
+        int n = sorted.length;
+        this.keys = new String[n];
+        this.displays = new int[n];
+        this.weights = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = sorted[i].key();
+            displays[i] = sorted[i].display();
+            weights[i] = sorted[i].weight();
+        }
+        int base = 1;
+        while (base < n) base <<= 1;
+        this.leafBase = base;
+        this.tree = new int[2 * base];
+        Arrays.fill(tree, -1);
+        for (int i = 0; i < n; i++) {
+            tree[base + i] = i;
+        }
+        for (int node = base - 1; node >= 1; node--) {
+            tree[node] = better(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * prefix로 시작하는 키 중 가중치 상위 limit개의 표시 문자열 번호 (중복 제거)
+     */
+    public int[] topK(String prefix, int limit) {
+        int lo = lowerBound(prefix);
+        int hi = lowerBound(prefix + Character.MAX_VALUE);
+        if (lo >= hi || limit <= 0) return new int[0];
+
+        PriorityQueue<Integer> queue = new PriorityQueue<>(
+                (a, b) -> Long.compare(weights[tree[b]], weights[tree[a]]));
+        // [lo, hi) 구간을 덮는 세그먼트 트리 노드 수집
+        for (int l = lo + leafBase, r = hi + leafBase; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1) queue.add(l++);
+            if ((r & 1) == 1) queue.add(--r);
+        }
+
+        List<Integer> out = new ArrayList<>(limit);
+        while (!queue.isEmpty() && out.size() < limit) {
+            int node = queue.poll();
+            if (node >= leafBase) {
+                int display = displays[tree[node]];
+                if (!out.contains(display)) out.add(display);
+                continue;
+            }
+            if (tree[2 * node] >= 0) queue.add(2 * node);
+            if (tree[2 * node + 1] >= 0) queue.add(2 * node + 1);
+        }
+        return out.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private int better(int a, int b) {
+        if (a < 0) return b;
+        if (b < 0) return a;
+        return weights[b] > weights[a] ? b : a;
+    }
+
+    private int lowerBound(String key) {
+        int lo = 0;
+        int hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(key) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
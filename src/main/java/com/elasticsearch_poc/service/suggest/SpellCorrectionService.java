@@ -0,0 +1,134 @@
+package com.elasticsearch_poc.service.suggest;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 오타 교정 서비스
+ * - search_log 검색어와 상품명 단어로 SymSpell 사전을 만들어 편집 거리 1~2 교정어 제공
+ * - 자동완성 인덱스 재생성 시 함께 재생성되고, 그 사이 새 검색어는 SearchLogConsumer에서 점진적으로 추가
+ * - 로컬 자동완성이 꺼져 있으면(suggest.local.enabled=false) 자체 주기로 search_log 검색어만으로 재생성
+ */
+@Service
+public class SpellCorrectionService {
+
+    private static final Logger log = LoggerFactory.getLogger(SpellCorrectionService.class);
+
+    private final ElasticsearchClient esClient;
+    private final int maxEditDistance;
+    // 삭제 변형을 만들 단어 앞부분 길이 (길수록 정확하지만 메모리 증가)
+    private final int prefixLength;
+    // 접두어 변형마다 유지할 빈도 상위 단어 수 (짧은 접두어 조회 비용 상한)
+    private final int prefixBucketSize;
+
+    // 첫 빌드 전에도 점진적 추가를 받을 수 있도록 빈 사전으로 시작
+    private volatile SymSpellDictionary dictionary;
+
+    @Value("${elasticsearch.search-log-index:search_log}")
+    private String searchLogIndex;
+
+    @Value("${suggest.spell.enabled:true}")
+    private boolean enabled;
+
+    // 사전에 담을 search_log 검색어 수 (빈도 상위)
+    @Value("${suggest.spell.search-log-terms:10000}")
+    private int searchLogTerms;
+
+    // 켜져 있으면 LocalSuggestService.rebuild가 상품명과 함께 사전을 재생성
+    @Value("${suggest.local.enabled:true}")
+    private boolean localSuggestEnabled;
+
+    public SpellCorrectionService(ElasticsearchClient esClient,
+                                  @Value("${suggest.spell.max-edit-distance:2}") int maxEditDistance,
+                                  @Value("${suggest.spell.prefix-length:7}") int prefixLength,
+                                  @Value("${suggest.spell.prefix-bucket-size:32}") int prefixBucketSize) {
+        this.esClient = esClient;
+        this.maxEditDistance = maxEditDistance;
+        this.prefixLength = prefixLength;
+        this.prefixBucketSize = prefixBucketSize;
+        this.dictionary = new SymSpellDictionary(maxEditDistance, prefixLength, prefixBucketSize);
+    }
+
+    /**
+     * 새 검색어를 현재 사전에 추가 (재생성을 기다리지 않음)
+     */
+    public void record(String keyword) {
+        if (!enabled || keyword == null || keyword.isBlank()) return;
+        dictionary.add(keyword, 1);
+    }
+
+    /**
+     * 입력 중인 접두어에 가까운 교정어 (편집 거리, 빈도 순)
+     * 입력이 단어의 앞부분일 수 있으므로 단어 앞부분과 비교 (예: "삼송" -> "삼성전자")
+     */
+    public List<String> correct(String input, int limit) {
+        if (!enabled) return List.of();
+        return dictionary.lookupPrefix(input, limit).stream()
+                .map(SymSpellDictionary.Suggestion::term)
+                .toList();
+    }
+
+    /**
+     * 상품명 단어 + search_log 검색어로 사전 재생성 후 원자적 교체 (실패 시 이전 사전 유지)
+     * @param productNames 자동완성 인덱스 재생성 시 수집한 상품명
+     */
+    public void rebuild(Collection<String> productNames) {
+        if (!enabled) return;
+        try {
+            SymSpellDictionary built = new SymSpellDictionary(maxEditDistance, prefixLength, prefixBucketSize);
+            for (String name : productNames) {
+                for (String word : name.split("\\s+")) {
+                    if (word.length() >= 2) built.add(word, 1);
+                }
+            }
+            addSearchLogTerms(built);
+            dictionary = built;
+            log.info("🔤 오타 교정 사전 갱신: words={}", built.size());
+        } catch (Exception e) {
+            log.warn("오타 교정 사전 갱신 실패, 이전 사전 유지: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 로컬 자동완성이 꺼져 있을 때의 사전 재생성 (상품명 없이 search_log 검색어만 사용)
+     */
+    @Scheduled(initialDelayString = "${suggest.spell.initial-delay-ms:5000}",
+               fixedDelayString = "${suggest.spell.rebuild-interval-ms:600000}")
+    public void rebuildFromSearchLog() {
+        if (localSuggestEnabled) return;
+        rebuild(List.of());
+    }
+
+    /**
+     * search_log 검색어 빈도 상위 N개를 빈도와 함께 등록
+     */
+    private void addSearchLogTerms(SymSpellDictionary target) throws IOException {
+        SearchResponse<Void> response = esClient.search(s -> s
+            .index(searchLogIndex)
+            .ignoreUnavailable(true)
+            .allowNoIndices(true)
+            .size(0)
+            .aggregations("keywords", a -> a
+                .terms(t -> t
+                    .field("keyword.keyword")
+                    .size(searchLogTerms)
+                )
+            ),
+            Void.class
+        );
+        if (response.aggregations() == null || response.aggregations().get("keywords") == null) return;
+        for (StringTermsBucket bucket : response.aggregations().get("keywords").sterms().buckets().array()) {
+            target.add(bucket.key().stringValue(), bucket.docCount());
+        }
+    }
+}
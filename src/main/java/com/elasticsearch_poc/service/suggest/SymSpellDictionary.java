@@ -0,0 +1,238 @@
+package com.elasticsearch_poc.service.suggest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 대칭 삭제(Symmetric Delete) 방식 철자 교정 사전
+ * - 등록 시 단어 앞부분(prefixLength)에서 최대 maxEditDistance개 문자를 지운 변형을 모두 색인
+ * - 조회 시 입력에서도 같은 방식으로 삭제 변형만 만들어 색인과 맞춰보므로 사전 크기와 무관한 비용으로 후보 탐색
+ * - 후보는 OSA(인접 문자 교환 포함) 편집 거리로 검증 후 (거리 오름차순, 빈도 내림차순) 정렬
+ * - 단어의 앞부분(길이 1~prefixLength)마다 삭제 변형을 별도로 색인하므로 입력 중인 접두어의 오타도 조회 가능 (lookupPrefix)
+ *   짧은 접두어 변형은 사전의 대부분 단어와 연결되므로 변형마다 빈도 상위 prefixBucketSize개 단어만 유지
+ *   -> 1~2글자 입력도 후보 수가 사전 크기와 무관하게 (입력 변형 수 x prefixBucketSize) 이하
+ * - 빈 문자열 변형은 만들지 않음 (1글자는 더 지우지 않음)
+ * - 등록/조회 모두 동시 호출 가능 (검색 로그 수신 시 점진적으로 추가)
+ */
+public class SymSpellDictionary {
+
+    /**
+     * 교정 후보
+     * @param term 사전 단어
+     * @param distance 입력과의 편집 거리
+     * @param count 등록 빈도
+     */
+    public record Suggestion(String term, int distance, long count) {}
+
+    // prefixBucketSize 기본값 (교정 결과는 몇 개만 쓰므로 빈도 상위 일부로 충분)
+    public static final int DEFAULT_PREFIX_BUCKET_SIZE = 32;
+
+    private final int maxEditDistance;
+    private final int prefixLength;
+    private final int prefixBucketSize;
+    // 단어 -> 빈도
+    private final Map<String, Long> words = new ConcurrentHashMap<>();
+    // 단어 전체(앞부분 prefixLength)의 삭제 변형 -> 원래 단어들 (lookup)
+    private final Map<String, Set<String>> deletes = new ConcurrentHashMap<>();
+    // 단어 앞부분(길이 1~prefixLength)의 삭제 변형 -> 빈도 상위 prefixBucketSize개 단어 (lookupPrefix)
+    private final Map<String, Set<String>> prefixDeletes = new ConcurrentHashMap<>();
+
+    public SymSpellDictionary(int maxEditDistance, int prefixLength) {
+        this(maxEditDistance, prefixLength, DEFAULT_PREFIX_BUCKET_SIZE);
+    }
+
+    public SymSpellDictionary(int maxEditDistance, int prefixLength, int prefixBucketSize) {
+        if (maxEditDistance < 0) throw new IllegalArgumentException("maxEditDistance must be >= 0");
+        if (prefixLength <= maxEditDistance) throw new IllegalArgumentException("prefixLength must be > maxEditDistance");
+        if (prefixBucketSize <= 0) throw new IllegalArgumentException("prefixBucketSize must be > 0");
+        this.maxEditDistance = maxEditDistance;
+        this.prefixLength = prefixLength;
+        this.prefixBucketSize = prefixBucketSize;
+    }
+
+    /**
+     * 단어 등록 (이미 있으면 빈도만 누적)
+     */
+    public void add(String term, long count) {
+        String key = normalize(term);
+        if (key.isEmpty() || count <= 0) return;
+        if (words.merge(key, count, Long::sum) != count) return;
+        for (String delete : deletesOf(key, maxEditDistance)) {
+            deletes.computeIfAbsent(delete, d -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+        Set<String> prefixVariants = new HashSet<>();
+        for (int len = 1; len <= Math.min(key.length(), prefixLength); len++) {
+            prefixVariants.addAll(deletesOf(key.substring(0, len), maxEditDistance));
+        }
+        for (String delete : prefixVariants) {
+            addToPrefixBucket(delete, key);
+        }
+    }
+
+    /**
+     * 접두어 변형 버킷에 단어 추가, 가득 차 있으면 빈도가 가장 낮은 단어보다 빈도가 높을 때만 교체
+     */
+    private void addToPrefixBucket(String delete, String term) {
+        Set<String> bucket = prefixDeletes.computeIfAbsent(delete, d -> ConcurrentHashMap.newKeySet());
+        synchronized (bucket) {
+            if (bucket.size() < prefixBucketSize) {
+                bucket.add(term);
+                return;
+            }
+            String weakest = null;
+            long weakestCount = Long.MAX_VALUE;
+            for (String t : bucket) {
+                long c = words.getOrDefault(t, 0L);
+                if (c < weakestCount) {
+                    weakest = t;
+                    weakestCount = c;
+                }
+            }
+            if (weakest != null && words.getOrDefault(term, 0L) > weakestCount) {
+                bucket.remove(weakest);
+                bucket.add(term);
+            }
+        }
+    }
+
+    /**
+     * 입력과 편집 거리 maxEditDistance 이내인 사전 단어 조회
+     */
+    public List<Suggestion> lookup(String input, int limit) {
+        return lookup(input, limit, false);
+    }
+
+    /**
+     * 입력을 입력 중인 접두어로 보고, 앞부분이 입력과 편집 거리 이내인 사전 단어 조회
+     * 허용 거리는 min(maxEditDistance, 입력 길이 - 1): 1글자 입력은 정확히 그 글자로 시작하는 단어만
+     * 예: "삼송" -> "삼성전자" (앞부분 "삼성"과 거리 1)
+     */
+    public List<Suggestion> lookupPrefix(String input, int limit) {
+        return lookup(input, limit, true);
+    }
+
+    private List<Suggestion> lookup(String input, int limit, boolean prefix) {
+        String key = normalize(input);
+        if (key.isEmpty() || limit <= 0) return List.of();
+
+        int max = prefix ? Math.min(maxEditDistance, key.length() - 1) : maxEditDistance;
+        List<Suggestion> out = new ArrayList<>();
+        for (String term : candidates(key, max, prefix)) {
+            int distance = prefix ? prefixDistance(key, term, max) : distance(key, term, max);
+            if (distance <= max) {
+                out.add(new Suggestion(term, distance, words.getOrDefault(term, 0L)));
+            }
+        }
+        out.sort(Comparator.comparingInt(Suggestion::distance)
+                .thenComparing(Comparator.comparingLong(Suggestion::count).reversed())
+                .thenComparing(Suggestion::term));
+        return out.size() > limit ? out.subList(0, limit) : out;
+    }
+
+    /**
+     * 입력의 삭제 변형과 일치하는 색인 단어 (편집 거리 검증 전)
+     */
+    Set<String> candidates(String key, int max, boolean prefix) {
+        Map<String, Set<String>> index = prefix ? prefixDeletes : deletes;
+        Set<String> candidates = new HashSet<>();
+        for (String delete : deletesOf(key, max)) {
+            Set<String> terms = index.get(delete);
+            if (terms != null) candidates.addAll(terms);
+        }
+        return candidates;
+    }
+
+    /**
+     * lookupPrefix가 편집 거리를 계산할 후보 수 (테스트용)
+     */
+    int prefixCandidateCount(String input) {
+        String key = normalize(input);
+        if (key.isEmpty()) return 0;
+        return candidates(key, Math.min(maxEditDistance, key.length() - 1), true).size();
+    }
+
+    public int size() {
+        return words.size();
+    }
+
+    public int maxEditDistance() {
+        return maxEditDistance;
+    }
+
+    private static String normalize(String s) {
+        return s == null ? "" : s.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 단어 앞부분(prefixLength)에서 0~max개 문자를 지운 변형 (원문 포함, 빈 문자열 제외)
+     */
+    private Set<String> deletesOf(String word, int max) {
+        String head = word.length() > prefixLength ? word.substring(0, prefixLength) : word;
+        Set<String> out = new HashSet<>();
+        out.add(head);
+        List<String> frontier = List.of(head);
+        for (int d = 0; d < max; d++) {
+            List<String> next = new ArrayList<>();
+            for (String s : frontier) {
+                if (s.length() <= 1) continue;
+                for (int i = 0; i < s.length(); i++) {
+                    String deleted = s.substring(0, i) + s.substring(i + 1);
+                    if (out.add(deleted)) next.add(deleted);
+                }
+            }
+            frontier = next;
+        }
+        return out;
+    }
+
+    /**
+     * 입력과 단어 앞부분(길이 |입력| ± max) 사이의 최소 편집 거리, max를 넘으면 max + 1 반환
+     */
+    static int prefixDistance(String input, String term, int max) {
+        int best = max + 1;
+        int from = Math.max(1, input.length() - max);
+        int to = Math.min(term.length(), input.length() + max);
+        for (int len = from; len <= to && best > 0; len++) {
+            best = Math.min(best, distance(input, term.substring(0, len), max));
+        }
+        return best;
+    }
+
+    /**
+     * OSA(Optimal String Alignment) 편집 거리, max를 넘으면 max + 1 반환
+     */
+    static int distance(String a, String b, int max) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > max) return max + 1;
+        int[] prev2 = new int[m + 1];
+        int[] prev = new int[m + 1];
+        int[] cur = new int[m + 1];
+        for (int j = 0; j <= m; j++) prev[j] = j;
+        for (int i = 1; i <= n; i++) {
+            cur[0] = i;
+            int rowMin = cur[0];
+            for (int j = 1; j <= m; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int v = Math.min(Math.min(prev[j] + 1, cur[j - 1] + 1), prev[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    v = Math.min(v, prev2[j - 2] + 1);
+                }
+                cur[j] = v;
+                rowMin = Math.min(rowMin, v);
+            }
+            if (rowMin > max) return max + 1;
+            int[] tmp = prev2;
+            prev2 = prev;
+            prev = cur;
+            cur = tmp;
+        }
+        return Math.min(prev[m], max + 1);
+    }
+}
@@ -0,0 +1,49 @@
+package com.elasticsearch_poc.config;
+
+import com.elasticsearch_poc.service.SourceProjection;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 검색 결과 필드 프로필 해석 테스트
+ */
+class SearchProjectionPropertiesTest {
+
+    private SearchProjectionProperties properties() {
+        SearchProjectionProperties props = new SearchProjectionProperties();
+        SearchProjectionProperties.View list = new SearchProjectionProperties.View();
+        list.setIncludes(List.of("goods_name", "goods_code"));
+        props.getViews().put("list", list);
+        return props;
+    }
+
+    @Test
+    void fieldsTakePrecedenceOverView() {
+        SourceProjection p = properties().resolve(" goods_name , goods_code,goods_name ", "list");
+        assertEquals(List.of("goods_code", "goods_name"), p.includes());
+        assertTrue(p.excludes().isEmpty());
+    }
+
+    @Test
+    void viewAndDefaultViewResolveToSameKey() {
+        SearchProjectionProperties props = properties();
+        SourceProjection byView = props.resolve(null, "list");
+        props.setDefaultView("list");
+        assertEquals(byView, props.resolve(null, null));
+        assertEquals(byView, props.resolve("goods_code,goods_name", null));
+    }
+
+    @Test
+    void emptyDefaultViewIsFullSource() {
+        assertTrue(properties().resolve("", " ").isFull());
+    }
+
+    @Test
+    void rejectsUnknownViewAndInvalidField() {
+        assertThrows(IllegalArgumentException.class, () -> properties().resolve(null, "nope"));
+        assertThrows(IllegalArgumentException.class, () -> properties().resolve("goods_name,\"x\"", null));
+    }
+}
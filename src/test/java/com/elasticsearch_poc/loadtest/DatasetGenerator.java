@@ -0,0 +1,186 @@
+package com.elasticsearch_poc.loadtest;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.transport.rest_client.RestClientTransport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.HttpHost;
+import org.elasticsearch.client.RestClient;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 벤치마크용 데이터셋 생성기
+ * 1) 합성 한글 카탈로그(KoreanCatalog)를 oracle_products 인덱스에 bulk 색인 (인덱스가 없으면 매핑과 함께 생성)
+ * 2) 검색/입력 trace(queries.ndjson, keystrokes.ndjson)를 out 디렉터리에 기록 -> loadTest --trace=... 로 재생
+ * 같은 시드/옵션이면 카탈로그와 trace가 항상 같으므로 실행 간 결과 비교 가능
+ *
+ * 실행: ./gradlew generateDataset -PdatasetArgs="--products=100000 --es=http://localhost:9200"
+ * 옵션:
+ *   --products=10000           상품 수
+ *   --seed=42                  카탈로그/trace 시드
+ *   --es=http://localhost:9200 색인 대상 (--skip-load면 색인 생략)
+ *   --index=oracle_products    대상 인덱스
+ *   --batch=1000               bulk 요청당 문서 수
+ *   --bulk-file=...            색인 대신(또는 함께) bulk 본문 NDJSON 파일로 저장 (curl --data-binary @파일)
+ *   --out=build/loadtest       trace 출력 디렉터리
+ *   --queries=100000           검색 trace 요청 수
+ *   --query-rate=200           검색 trace 평균 도착률 (req/s)
+ *   --chosung-ratio=0.05       초성 검색 비율
+ *   --sessions=20000           입력 trace 세션 수
+ *   --session-rate=20          초당 새 입력 세션 수
+ *   --key-delay-ms=150         평균 글쇠 간격
+ *   --debounce-ms=0            클라이언트 debounce
+ *   --zipf=1.0                 검색어 Zipf 지수
+ *   --vocabulary-products=5000 검색어 어휘 꼬리에 넣을 전체 상품명 수
+ */
+public class DatasetGenerator {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = parse(args);
+        int products = Integer.parseInt(opts.getOrDefault("products", "10000"));
+        long seed = Long.parseLong(opts.getOrDefault("seed", "42"));
+        String es = opts.getOrDefault("es", "http://localhost:9200");
+        String index = opts.getOrDefault("index", "oracle_products");
+        int batch = Integer.parseInt(opts.getOrDefault("batch", "1000"));
+        boolean skipLoad = Boolean.parseBoolean(opts.getOrDefault("skip-load", "false"));
+        Path out = Path.of(opts.getOrDefault("out", "build/loadtest"));
+        double zipf = Double.parseDouble(opts.getOrDefault("zipf", "1.0"));
+
+        KoreanCatalog catalog = new KoreanCatalog(products, seed);
+
+        if (opts.containsKey("bulk-file")) {
+            Path bulkFile = Path.of(opts.get("bulk-file"));
+            writeBulkFile(catalog, index, bulkFile);
+            System.out.printf("bulk file: %s (%d products)%n", bulkFile, products);
+        }
+        if (!skipLoad) {
+            load(catalog, es, index, batch);
+        }
+
+        TraceGenerator traces = new TraceGenerator(
+                catalog.queryVocabulary(Integer.parseInt(opts.getOrDefault("vocabulary-products", "5000"))), zipf, seed);
+        Path queries = out.resolve("queries.ndjson");
+        int queryCount = traces.writeQueryTrace(queries,
+                Integer.parseInt(opts.getOrDefault("queries", "100000")),
+                Double.parseDouble(opts.getOrDefault("query-rate", "200")),
+                Double.parseDouble(opts.getOrDefault("chosung-ratio", "0.05")));
+        Path keystrokes = out.resolve("keystrokes.ndjson");
+        int keystrokeCount = traces.writeKeystrokeTrace(keystrokes,
+                Integer.parseInt(opts.getOrDefault("sessions", "20000")),
+                Double.parseDouble(opts.getOrDefault("session-rate", "20")),
+                Long.parseLong(opts.getOrDefault("key-delay-ms", "150")),
+                Long.parseLong(opts.getOrDefault("debounce-ms", "0")));
+        System.out.printf("query trace: %s (%d requests)%n", queries, queryCount);
+        System.out.printf("keystroke trace: %s (%d requests)%n", keystrokes, keystrokeCount);
+    }
+
+    private static void load(KoreanCatalog catalog, String es, String index, int batch) throws IOException {
+        try (RestClientTransport transport = new RestClientTransport(
+                RestClient.builder(HttpHost.create(es)).setCompressionEnabled(true).build(), new JacksonJsonpMapper())) {
+            ElasticsearchClient client = new ElasticsearchClient(transport);
+            if (!client.indices().exists(e -> e.index(index)).value()) {
+                createIndex(client, index);
+                System.out.printf("created index %s%n", index);
+            }
+
+            long start = System.nanoTime();
+            long failed = 0;
+            for (int from = 0; from < catalog.size(); from += batch) {
+                BulkRequest.Builder bulk = new BulkRequest.Builder();
+                int to = Math.min(from + batch, catalog.size());
+                for (int i = from; i < to; i++) {
+                    Map<String, Object> doc = catalog.product(i);
+                    bulk.operations(op -> op.index(idx -> idx
+                            .index(index)
+                            .id((String) doc.get("goods_code"))
+                            .document(doc)));
+                }
+                BulkResponse response = client.bulk(bulk.build());
+                if (response.errors()) {
+                    failed += response.items().stream().filter(item -> item.error() != null).count();
+                }
+                if (to % (batch * 20) == 0 || to == catalog.size()) {
+                    double seconds = (System.nanoTime() - start) / 1e9;
+                    System.out.printf("indexed %d/%d (%.0f docs/s, failed=%d)%n", to, catalog.size(), to / seconds, failed);
+                }
+            }
+            client.indices().refresh(r -> r.index(index));
+        }
+    }
+
+    /**
+     * 애플리케이션 검색 쿼리가 쓰는 필드만 매핑 (형태소 분석기 없이 standard, 초성은 공백 단위 토큰)
+     */
+    private static void createIndex(ElasticsearchClient client, String index) throws IOException {
+        client.indices().create(c -> c
+            .index(index)
+            .mappings(m -> m
+                .properties("goods_code", p -> p
+                    .keyword(k -> k)
+                )
+                .properties("goods_name", p -> p
+                    .text(tx -> tx
+                        .fields("keyword", f -> f
+                            .keyword(k -> k)
+                        )
+                    )
+                )
+                .properties("goods_name_chosung", p -> p
+                    .text(tx -> tx)
+                )
+                .properties("description", p -> p
+                    .text(tx -> tx)
+                )
+                .properties("category", p -> p
+                    .text(tx -> tx
+                        .fields("keyword", f -> f
+                            .keyword(k -> k)
+                        )
+                    )
+                )
+                .properties("suggest", p -> p
+                    .completion(cp -> cp)
+                )
+            )
+            .settings(s -> s
+                .numberOfShards("1")
+                .numberOfReplicas("0")
+            )
+        );
+    }
+
+    private static void writeBulkFile(KoreanCatalog catalog, String index, Path path) throws IOException {
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+        try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < catalog.size(); i++) {
+                Map<String, Object> doc = catalog.product(i);
+                out.write(MAPPER.writeValueAsString(Map.of("index", Map.of("_index", index, "_id", doc.get("goods_code")))));
+                out.newLine();
+                out.write(MAPPER.writeValueAsString(doc));
+                out.newLine();
+            }
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> opts = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) continue;
+            int eq = arg.indexOf('=');
+            if (eq > 0) opts.put(arg.substring(2, eq), arg.substring(eq + 1));
+            else opts.put(arg.substring(2), "true");
+        }
+        return opts;
+    }
+}
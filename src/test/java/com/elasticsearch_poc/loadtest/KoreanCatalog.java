@@ -0,0 +1,126 @@
+package com.elasticsearch_poc.loadtest;
+
+import com.elasticsearch_poc.service.suggest.Hangul;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * oracle_products 형태의 합성 한글 상품 카탈로그 (시드가 같으면 항상 같은 결과)
+ * - 상품명: 브랜드 + [수식어] + 품목 + [모델명] + [색상], 초성(goods_name_chosung)은 Hangul.toChosung으로 미리 계산
+ * - 검색어 어휘는 실제 검색 로그처럼 짧은 일반 검색어가 앞 순위(품목 → 브랜드+품목 → 수식어+품목 → 전체 상품명)
+ */
+public final class KoreanCatalog {
+
+    private static final String[][] CATEGORIES = {
+            {"가전", "냉장고", "세탁기", "청소기", "에어컨", "전자레인지", "공기청정기", "전기밥솥", "선풍기", "제습기", "식기세척기"},
+            {"디지털", "노트북", "모니터", "키보드", "마우스", "이어폰", "태블릿", "스마트폰", "충전기", "스피커", "공유기"},
+            {"패션", "운동화", "티셔츠", "청바지", "후드티", "패딩", "슬리퍼", "백팩", "모자", "양말", "원피스"},
+            {"식품", "라면", "생수", "커피", "우유", "과자", "김치", "햇반", "참치캔", "견과류", "올리브유"},
+            {"생활", "텀블러", "수건", "세제", "휴지", "칫솔", "샴푸", "물티슈", "수납함", "이불", "베개"},
+            {"스포츠", "요가매트", "덤벨", "자전거", "등산화", "텐트", "캠핑의자", "수영복", "골프공", "줄넘기", "보호대"}
+    };
+    private static final String[][] BRANDS = {
+            {"삼성", "엘지", "쿠쿠", "다이슨", "위니아", "쿠첸", "신일", "대우"},
+            {"삼성", "엘지", "애플", "레노버", "로지텍", "소니", "샤오미", "에이수스"},
+            {"나이키", "아디다스", "뉴발란스", "무신사", "유니클로", "탑텐", "휠라", "노스페이스"},
+            {"농심", "오뚜기", "삼다수", "동서", "매일", "비비고", "오리온", "동원"},
+            {"락앤락", "송월", "피죤", "깨끗한나라", "오랄비", "려", "유한킴벌리", "한샘"},
+            {"코오롱", "블랙야크", "삼천리", "콜맨", "아레나", "타이틀리스트", "나이키", "데카트론"}
+    };
+    private static final String[] MODIFIERS = {"무선", "대용량", "초경량", "프리미엄", "미니", "스마트", "저소음", "휴대용", "친환경", "고급형"};
+    private static final String[] COLORS = {"화이트", "블랙", "그레이", "네이비", "베이지", "실버"};
+    private static final String[] FEATURES = {
+            "가볍고 튼튼한", "오래 쓸 수 있는", "관리가 쉬운", "가성비 좋은", "선물하기 좋은", "매일 쓰기 편한", "공간을 적게 차지하는"
+    };
+
+    private final long seed;
+    private final int size;
+
+    /**
+     * @param size 상품 수
+     */
+    public KoreanCatalog(int size, long seed) {
+        if (size <= 0) throw new IllegalArgumentException("size must be positive: " + size);
+        this.size = size;
+        this.seed = seed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * i번째 상품 문서 (인덱스 순서와 무관하게 i만으로 결정되므로 병렬/부분 생성 가능)
+     */
+    public Map<String, Object> product(int i) {
+        Random random = new Random(seed * 31 + i);
+        int c = random.nextInt(CATEGORIES.length);
+        String category = CATEGORIES[c][0];
+        String noun = CATEGORIES[c][1 + random.nextInt(CATEGORIES[c].length - 1)];
+        String brand = BRANDS[c][random.nextInt(BRANDS[c].length)];
+
+        StringBuilder name = new StringBuilder(brand);
+        String modifier = random.nextInt(3) == 0 ? null : MODIFIERS[random.nextInt(MODIFIERS.length)];
+        if (modifier != null) name.append(' ').append(modifier);
+        name.append(' ').append(noun);
+        if (random.nextInt(2) == 0) {
+            name.append(' ').append((char) ('A' + random.nextInt(26))).append(100 + random.nextInt(900));
+        }
+        if (random.nextInt(3) == 0) name.append(' ').append(COLORS[random.nextInt(COLORS.length)]);
+        String goodsName = name.toString();
+
+        Map<String, Object> doc = new LinkedHashMap<>();
+        doc.put("goods_code", String.format("G%08d", i + 1));
+        doc.put("goods_name", goodsName);
+        doc.put("goods_name_chosung", Hangul.toChosung(goodsName));
+        doc.put("description", brand + " " + noun + ". " + FEATURES[random.nextInt(FEATURES.length)] + " "
+                + (modifier != null ? modifier + " " : "") + noun + "입니다. " + category + " 카테고리 상품.");
+        doc.put("category", category);
+        doc.put("suggest", Map.of("input", List.of(goodsName, brand + " " + noun, noun)));
+        return doc;
+    }
+
+    public List<Map<String, Object>> products() {
+        List<Map<String, Object>> out = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) out.add(product(i));
+        return out;
+    }
+
+    /**
+     * 인기 순위대로 정렬된 검색어 어휘 (Zipf 순위로 사용)
+     * @param maxProductNames 꼬리에 붙일 전체 상품명 수
+     */
+    public List<String> queryVocabulary(int maxProductNames) {
+        Random random = new Random(seed);
+        List<String> nouns = new ArrayList<>();
+        List<String> brandNouns = new ArrayList<>();
+        List<String> modifierNouns = new ArrayList<>();
+        for (int c = 0; c < CATEGORIES.length; c++) {
+            for (int n = 1; n < CATEGORIES[c].length; n++) {
+                String noun = CATEGORIES[c][n];
+                nouns.add(noun);
+                for (String brand : BRANDS[c]) brandNouns.add(brand + " " + noun);
+                for (String modifier : MODIFIERS) modifierNouns.add(modifier + " " + noun);
+            }
+        }
+        Collections.shuffle(nouns, random);
+        Collections.shuffle(brandNouns, random);
+        Collections.shuffle(modifierNouns, random);
+
+        Set<String> vocabulary = new LinkedHashSet<>();
+        vocabulary.addAll(nouns);
+        vocabulary.addAll(brandNouns);
+        vocabulary.addAll(modifierNouns);
+        for (int i = 0; i < Math.min(maxProductNames, size); i++) {
+            vocabulary.add((String) product(i).get("goods_name"));
+        }
+        return List.copyOf(vocabulary);
+    }
+}
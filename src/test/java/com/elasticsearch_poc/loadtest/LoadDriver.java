@@ -0,0 +1,249 @@
+package com.elasticsearch_poc.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.random.RandomGenerator;
+
+/**
+ * 고정 요청률(open-loop) 부하 발생기
+ * - 요청 i는 시작 시각 + i/rate 에 보내도록 예정하고, 지연은 예정 시각부터 응답 완료까지로 측정
+ *   (서버가 느려져도 요청을 늦추지 않으므로 대기열 시간이 지연에 포함됨: coordinated omission 방지)
+ * - 요청마다 가상 스레드, 동시 요청 수가 max-in-flight를 넘으면 보내지 않고 dropped로 집계
+ * - 엔드포인트별 처리량/오류 수/지연 백분위(p50/p90/p99/p99.9/max) 보고
+ */
+public class LoadDriver {
+
+    /**
+     * 보낼 요청 (endpoint는 보고서 집계 키, pathAndQuery는 baseUrl 뒤에 붙는 경로)
+     */
+    public record Request(String endpoint, String pathAndQuery) {}
+
+    /**
+     * 요청 생성기 (기본 Zipf 혼합 또는 trace 재생)
+     */
+    public interface RequestSource {
+        Request next(RandomGenerator random);
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String baseUrl;
+    private final HttpClient client;
+    private final int maxInFlight;
+    private final Duration timeout;
+
+    public LoadDriver(String baseUrl, int maxInFlight, Duration timeout) {
+        this.baseUrl = baseUrl;
+        this.maxInFlight = maxInFlight;
+        this.timeout = timeout;
+        this.client = HttpClient.newBuilder()
+                // h2c 업그레이드 시도 없이 애플리케이션(Tomcat)과 같은 HTTP/1.1 keep-alive 연결 사용
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+    }
+
+    /**
+     * rate(req/s)로 duration 동안 요청을 보내고 모든 응답(또는 timeout)을 기다린 뒤 결과 반환
+     */
+    public Report run(RequestSource source, double rate, Duration duration, long seed) throws InterruptedException {
+        RandomGenerator random = new SplittableRandom(seed);
+        Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        LongAdder dropped = new LongAdder();
+        long total = (long) (rate * duration.toMillis() / 1000.0);
+        double intervalNanos = 1e9 / rate;
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < total; i++) {
+                long intended = start + (long) (i * intervalNanos);
+                long wait = intended - System.nanoTime();
+                if (wait > 0) LockSupport.parkNanos(wait);
+
+                Request request = source.next(random);
+                Recorder recorder = recorders.computeIfAbsent(request.endpoint(), k -> new Recorder());
+                if (!inFlight.tryAcquire()) {
+                    dropped.increment();
+                    recorder.dropped.increment();
+                    continue;
+                }
+                executor.execute(() -> {
+                    try {
+                        send(request, intended, recorder);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } // close()가 남은 요청 완료를 기다림
+        long elapsed = System.nanoTime() - start;
+
+        Map<String, EndpointStats> stats = new TreeMap<>();
+        Recorder all = new Recorder();
+        recorders.forEach((endpoint, r) -> {
+            stats.put(endpoint, r.stats(elapsed));
+            all.merge(r);
+        });
+        return new Report(rate, elapsed / 1e9, dropped.sum(), all.stats(elapsed), stats);
+    }
+
+    private void send(Request request, long intended, Recorder recorder) {
+        HttpRequest httpRequest = HttpRequest.newBuilder(URI.create(baseUrl + request.pathAndQuery()))
+                .timeout(timeout)
+                .GET()
+                .build();
+        boolean ok;
+        try {
+            HttpResponse<Void> response = client.send(httpRequest, HttpResponse.BodyHandlers.discarding());
+            ok = response.statusCode() / 100 == 2;
+        } catch (IOException e) {
+            ok = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ok = false;
+        }
+        recorder.record(System.nanoTime() - intended, ok);
+    }
+
+    /**
+     * 엔드포인트별 지연 기록 (나노초)
+     */
+    private static final class Recorder {
+        private long[] latencies = new long[1024];
+        private int size;
+        private long errors;
+        private final LongAdder dropped = new LongAdder();
+
+        synchronized void record(long nanos, boolean ok) {
+            if (size == latencies.length) latencies = Arrays.copyOf(latencies, size * 2);
+            latencies[size++] = nanos;
+            if (!ok) errors++;
+        }
+
+        synchronized void merge(Recorder other) {
+            synchronized (other) {
+                if (size + other.size > latencies.length) latencies = Arrays.copyOf(latencies, size + other.size);
+                System.arraycopy(other.latencies, 0, latencies, size, other.size);
+                size += other.size;
+                errors += other.errors;
+                dropped.add(other.dropped.sum());
+            }
+        }
+
+        synchronized EndpointStats stats(long elapsedNanos) {
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            return new EndpointStats(size, errors, dropped.sum(), size / (elapsedNanos / 1e9),
+                    millis(sorted, 0.50), millis(sorted, 0.90), millis(sorted, 0.99), millis(sorted, 0.999),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+        }
+
+        private static double millis(long[] sorted, double p) {
+            if (sorted.length == 0) return 0;
+            int idx = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(idx, sorted.length - 1))] / 1e6;
+        }
+    }
+
+    /**
+     * @param count 완료된 요청 수 (오류 포함)
+     * @param throughput 완료 요청 수 / 실행 시간
+     */
+    public record EndpointStats(long count, long errors, long dropped, double throughput,
+                                double p50Ms, double p90Ms, double p99Ms, double p999Ms, double maxMs) {
+
+        String format(String name) {
+            return String.format("%-10s count=%8d errors=%6d dropped=%6d  %9.1f req/s  p50=%8.2fms  p90=%8.2fms  p99=%8.2fms  p99.9=%8.2fms  max=%8.2fms",
+                    name, count, errors, dropped, throughput, p50Ms, p90Ms, p99Ms, p999Ms, maxMs);
+        }
+    }
+
+    /**
+     * @param targetRate 목표 요청률 (req/s)
+     * @param seconds 실제 실행 시간 (마지막 응답까지)
+     */
+    public record Report(double targetRate, double seconds, long dropped,
+                         EndpointStats total, Map<String, EndpointStats> endpoints) {
+
+        public void print() {
+            System.out.printf("target=%.1f req/s, elapsed=%.2fs, dropped=%d%n", targetRate, seconds, dropped);
+            endpoints.forEach((name, s) -> System.out.println(s.format(name)));
+            System.out.println(total.format("total"));
+        }
+
+        /**
+         * 실행 간 비교용 JSON 저장
+         */
+        public void writeJson(Path path, Map<String, ?> meta) throws IOException {
+            ObjectNode root = MAPPER.createObjectNode();
+            root.set("meta", MAPPER.valueToTree(meta));
+            root.put("targetRate", targetRate);
+            root.put("seconds", seconds);
+            root.put("dropped", dropped);
+            root.set("total", MAPPER.valueToTree(total));
+            root.set("endpoints", MAPPER.valueToTree(endpoints));
+            if (path.getParent() != null) Files.createDirectories(path.getParent());
+            MAPPER.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), root);
+        }
+    }
+
+    /**
+     * 기본 요청 혼합: 검색어를 Zipf 분포로 뽑아 search/suggest/popular를 비율대로 호출
+     * suggest는 검색어의 앞 1~3글자를 접두어로 사용 (타이핑 중 요청 흉내)
+     */
+    public static RequestSource zipfMix(List<String> keywords, double exponent, Map<String, Integer> mix) {
+        Zipf zipf = new Zipf(keywords.size(), exponent);
+        String[] endpoints = mix.keySet().toArray(String[]::new);
+        int[] cumulative = new int[endpoints.length];
+        int sum = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            sum += mix.get(endpoints[i]);
+            cumulative[i] = sum;
+        }
+        int totalWeight = sum;
+        if (totalWeight <= 0) throw new IllegalArgumentException("mix weights must be positive: " + mix);
+        return random -> {
+            int pick = random.nextInt(totalWeight);
+            int e = 0;
+            while (cumulative[e] <= pick) e++;
+            String keyword = keywords.get(zipf.next(random));
+            return switch (endpoints[e]) {
+                case "search" -> new Request("search", "/api/search?size=10&q=" + encode(keyword));
+                case "suggest" -> {
+                    int len = Math.min(keyword.length(), 1 + random.nextInt(3));
+                    yield new Request("suggest", "/api/suggest?limit=8&prefix=" + encode(keyword.substring(0, len)));
+                }
+                case "popular" -> new Request("popular", "/api/popular?limit=10");
+                default -> throw new IllegalArgumentException("unknown endpoint in mix: " + endpoints[e]);
+            };
+        };
+    }
+
+    static String encode(String s) {
+        return URLEncoder.encode(s, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,165 @@
+package com.elasticsearch_poc.loadtest;
+
+import com.elasticsearch_poc.ElasticsearchPocApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 외부 의존성 없는 end-to-end 부하 테스트
+ * - 내장 Kafka(KRaft) + Elasticsearch 대역(StubElasticsearch, 지연 주입) 위에 애플리케이션을 실제 포트로 기동
+ * - LoadDriver로 /api/search, /api/suggest, /api/popular에 고정 요청률 부하를 주고 처리량/지연 백분위 출력
+ * - Elasticsearch 지연(es-latency-ms/es-jitter-ms)과 요청률을 바꿔 가며 스레드 모드/커넥션 풀 한계를 확인
+ * - --thread-mode=both: 같은 부하를 플랫폼 스레드/가상 스레드(spring.threads.virtual.enabled)로 각각 기동한 애플리케이션에 주고 비교
+ *
+ * 실행: ./gradlew loadTest -PloadTestArgs="--rate=500 --duration=30 --es-latency-ms=20"
+ * 옵션:
+ *   --rate=200                 초당 요청 수
+ *   --duration=30              측정 시간(초)
+ *   --warmup=10                예열 시간(초, 결과 제외)
+ *   --mix=search:6,suggest:3,popular:1   엔드포인트 비율
+ *   --zipf=1.0                 검색어 Zipf 지수
+ *   --catalog-size=1000        대역이 돌려줄 합성 상품 수 (KoreanCatalog)
+ *   --trace=build/loadtest/keystrokes.ndjson   Zipf 혼합 대신 trace 재생 (DatasetGenerator 출력, mix/zipf 무시)
+ *   --es-latency-ms=10         Elasticsearch 대역의 고정 지연
+ *   --es-jitter-ms=10          고정 지연에 더할 무작위 지연 상한
+ *   --max-in-flight=10000      동시 요청 상한 (넘으면 dropped)
+ *   --timeout-ms=10000         요청 timeout
+ *   --seed=42                  요청 순서 재현용 시드
+ *   --thread-mode=both         platform | virtual | both (생략 시 애플리케이션 설정 그대로)
+ *   --report=build/reports/loadtest/report.json   JSON 결과 저장 (생략 시 콘솔만, both면 report-platform.json/report-virtual.json)
+ *   그 밖의 --spring.xxx=... 는 애플리케이션 설정으로 전달 (예: --spring.threads.virtual.enabled=true)
+ */
+public class LoadTestHarness {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = new LinkedHashMap<>();
+        List<String> appArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) continue;
+            int eq = arg.indexOf('=');
+            if (eq < 0) continue;
+            String key = arg.substring(2, eq);
+            if (key.contains(".")) appArgs.add(arg);
+            else opts.put(key, arg.substring(eq + 1));
+        }
+        double rate = Double.parseDouble(opts.getOrDefault("rate", "200"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(opts.getOrDefault("duration", "30")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(opts.getOrDefault("warmup", "10")));
+        Map<String, Integer> mix = parseMix(opts.getOrDefault("mix", "search:6,suggest:3,popular:1"));
+        double zipf = Double.parseDouble(opts.getOrDefault("zipf", "1.0"));
+        long esLatencyMs = Long.parseLong(opts.getOrDefault("es-latency-ms", "10"));
+        long esJitterMs = Long.parseLong(opts.getOrDefault("es-jitter-ms", "10"));
+        int maxInFlight = Integer.parseInt(opts.getOrDefault("max-in-flight", "10000"));
+        Duration timeout = Duration.ofMillis(Long.parseLong(opts.getOrDefault("timeout-ms", "10000")));
+        long seed = Long.parseLong(opts.getOrDefault("seed", "42"));
+        int catalogSize = Integer.parseInt(opts.getOrDefault("catalog-size", "1000"));
+        String trace = opts.get("trace");
+        String report = opts.get("report");
+
+        String threadMode = opts.get("thread-mode");
+        List<String> modes = threadMode == null ? Collections.singletonList(null) : switch (threadMode) {
+            case "platform", "virtual" -> List.of(threadMode);
+            case "both" -> List.of("platform", "virtual");
+            default -> throw new IllegalArgumentException("thread-mode must be platform, virtual or both: " + threadMode);
+        };
+        if (threadMode != null) {
+            // 모드별로 직접 지정하므로 명령행의 같은 설정은 무시
+            appArgs.removeIf(arg -> arg.startsWith("--spring.threads.virtual.enabled="));
+        }
+
+        KoreanCatalog catalog = new KoreanCatalog(catalogSize, seed);
+        LoadDriver.RequestSource source = trace != null
+                ? TraceRequestSource.read(Path.of(trace))
+                : LoadDriver.zipfMix(catalog.queryVocabulary(catalogSize), zipf, mix);
+
+        EmbeddedKafkaKraftBroker kafka = new EmbeddedKafkaKraftBroker(1, 1, "search-log");
+        kafka.afterPropertiesSet();
+        Map<String, LoadDriver.Report> results = new LinkedHashMap<>();
+        try {
+            for (String mode : modes) {
+                List<String> runArgs = new ArrayList<>(appArgs);
+                if (mode != null) runArgs.add("--spring.threads.virtual.enabled=" + "virtual".equals(mode));
+                String label = mode == null ? "default" : mode;
+                // 모드마다 새 대역/애플리케이션으로 기동 (대역 요청 수와 JIT/커넥션 풀 상태가 이전 실행에 섞이지 않도록)
+                try (StubElasticsearch es = new StubElasticsearch(catalog.products(), esLatencyMs, esJitterMs).start();
+                     ConfigurableApplicationContext app = startApplication(es.url(), kafka.getBrokersAsString(), runArgs)) {
+                    int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+                    String baseUrl = "http://127.0.0.1:" + port;
+                    System.out.printf("[%s] app=%s, es-stub=%s (latency=%dms+0~%dms), kafka=%s, cores=%d%n",
+                            label, baseUrl, es.url(), esLatencyMs, esJitterMs, kafka.getBrokersAsString(),
+                            Runtime.getRuntime().availableProcessors());
+
+                    LoadDriver driver = new LoadDriver(baseUrl, maxInFlight, timeout);
+                    if (!warmup.isZero()) {
+                        System.out.printf("[%s] warmup %ds ...%n", label, warmup.toSeconds());
+                        driver.run(source, rate, warmup, seed - 1);
+                    }
+                    LoadDriver.Report result = driver.run(source, rate, duration, seed);
+                    System.out.printf("[%s]%n", label);
+                    result.print();
+                    System.out.println("es-stub requests: " + es.requestCounts());
+                    results.put(label, result);
+                    if (report != null) {
+                        Map<String, Object> meta = new LinkedHashMap<>(opts);
+                        meta.put("appArgs", runArgs);
+                        meta.put("cores", Runtime.getRuntime().availableProcessors());
+                        Path path = modes.size() > 1 ? withSuffix(Path.of(report), "-" + label) : Path.of(report);
+                        result.writeJson(path, meta);
+                        System.out.println("report: " + path);
+                    }
+                }
+            }
+        } finally {
+            kafka.destroy();
+        }
+        if (results.size() > 1) {
+            System.out.println("thread mode comparison (total):");
+            results.forEach((label, result) -> System.out.println(result.total().format(label)));
+        }
+    }
+
+    private static Path withSuffix(Path path, String suffix) {
+        String name = path.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String renamed = dot < 0 ? name + suffix : name.substring(0, dot) + suffix + name.substring(dot);
+        return path.resolveSibling(renamed);
+    }
+
+    private static ConfigurableApplicationContext startApplication(String esUrl, String brokers, List<String> appArgs) {
+        // application.properties보다 우선하도록 시스템 속성으로 지정 (명령행 --xxx=... 인자가 다시 덮어씀)
+        Map<String, String> props = new LinkedHashMap<>();
+        props.put("server.port", "0");
+        props.put("elasticsearch.hosts", esUrl);
+        props.put("spring.elasticsearch.uris", esUrl);
+        // 대역은 gzip 요청을 풀 수 있지만 응답은 압축하지 않으므로 측정 조건을 단순하게 유지
+        props.put("elasticsearch.compression-enabled", "false");
+        props.put("spring.kafka.bootstrap-servers", brokers);
+        props.put("suggest.local.initial-delay-ms", "0");
+        props.put("spring.devtools.restart.enabled", "false");
+        props.put("spring.devtools.livereload.enabled", "false");
+        props.forEach(System::setProperty);
+        SpringApplication application = new SpringApplicationBuilder(ElasticsearchPocApplication.class).build();
+        return application.run(appArgs.toArray(String[]::new));
+    }
+
+    private static Map<String, Integer> parseMix(String spec) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split(":");
+            if (kv.length != 2) throw new IllegalArgumentException("mix must look like search:6,suggest:3,popular:1 — " + spec);
+            mix.put(kv[0].trim(), Integer.parseInt(kv[1].trim()));
+        }
+        return mix;
+    }
+}
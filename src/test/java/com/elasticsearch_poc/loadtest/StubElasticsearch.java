@@ -0,0 +1,343 @@
+package com.elasticsearch_poc.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 부하 테스트용 Elasticsearch 대역 (JDK HttpServer)
+ * - _search / _msearch / _bulk / _pit에 고정 카탈로그 기반의 형식상 올바른 응답을 돌려줌
+ *   (typed_keys 집계/제안 이름, _source includes/excludes, search_after 이후 빈 페이지)
+ * - 인덱스/alias 관리 요청은 acknowledged로 응답 (alias 조회만 404)
+ * - 모든 요청에 고정 지연 + 무작위 지연(jitter)을 주입, 요청은 가상 스레드에서 처리하므로 지연이 처리량을 막지 않음
+ */
+public class StubElasticsearch implements AutoCloseable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<Map<String, Object>> catalog;
+    // 소문자 상품명 -> 상품명 (completion 제안용 접두어 조회)
+    private final NavigableMap<String, String> names = new TreeMap<>();
+    private final long latencyMs;
+    private final long jitterMs;
+    private final Map<String, LongAdder> requestCounts = new ConcurrentHashMap<>();
+
+    /**
+     * @param catalog 검색 결과로 돌려줄 상품 문서 (goods_code, goods_name, ...)
+     * @param latencyMs 요청마다 주입할 고정 지연
+     * @param jitterMs 고정 지연에 더할 0~jitterMs 무작위 지연
+     */
+    public StubElasticsearch(List<Map<String, Object>> catalog, long latencyMs, long jitterMs) throws IOException {
+        this.catalog = catalog;
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        for (Map<String, Object> doc : catalog) {
+            Object name = doc.get("goods_name");
+            if (name instanceof String s) names.putIfAbsent(s.toLowerCase(), s);
+        }
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    public StubElasticsearch start() {
+        server.start();
+        return this;
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * 요청 종류별 처리 수 (search, msearch, bulk, pit, admin)
+     */
+    public Map<String, Long> requestCounts() {
+        Map<String, Long> out = new TreeMap<>();
+        requestCounts.forEach((k, v) -> out.put(k, v.sum()));
+        return out;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            byte[] body = readBody(exchange);
+            injectLatency();
+
+            exchange.getResponseHeaders().add("X-Elastic-Product", "Elasticsearch");
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            if ("HEAD".equals(method)) {
+                count("admin");
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            JsonNode response;
+            int status = 200;
+            if (path.endsWith("/_msearch")) {
+                count("msearch");
+                response = msearch(body);
+            } else if (path.endsWith("/_search")) {
+                count("search");
+                response = search(body.length == 0 ? MAPPER.createObjectNode() : MAPPER.readTree(body));
+            } else if (path.endsWith("/_bulk")) {
+                count("bulk");
+                response = bulk(body);
+            } else if (path.endsWith("/_pit")) {
+                count("pit");
+                response = "DELETE".equals(method)
+                        ? MAPPER.createObjectNode().put("succeeded", true).put("num_freed", 1)
+                        : MAPPER.createObjectNode().put("id", "stub-pit");
+            } else if ("GET".equals(method)) {
+                count("admin");
+                status = 404;
+                response = error(404, "resource_not_found_exception", "stub: " + path);
+            } else {
+                count("admin");
+                String index = path.length() > 1 ? path.substring(1).split("/")[0] : "";
+                response = MAPPER.createObjectNode()
+                        .put("acknowledged", true)
+                        .put("shards_acknowledged", true)
+                        .put("index", index);
+            }
+            write(exchange, status, response);
+        } catch (Exception e) {
+            write(exchange, 500, error(500, "stub_exception", String.valueOf(e.getMessage())));
+        }
+    }
+
+    private void count(String kind) {
+        requestCounts.computeIfAbsent(kind, k -> new LongAdder()).increment();
+    }
+
+    private void injectLatency() {
+        long delay = latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0);
+        if (delay <= 0) return;
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ObjectNode search(JsonNode req) {
+        int size = req.path("size").asInt(10);
+        int from = req.path("from").asInt(0);
+        boolean sorted = req.has("sort");
+
+        ObjectNode resp = MAPPER.createObjectNode();
+        resp.put("took", latencyMs);
+        resp.put("timed_out", false);
+        resp.putObject("_shards").put("total", 1).put("successful", 1).put("skipped", 0).put("failed", 0);
+        if (req.has("pit")) resp.put("pit_id", "stub-pit");
+
+        ObjectNode hits = resp.putObject("hits");
+        hits.putObject("total").put("value", catalog.size()).put("relation", "eq");
+        hits.put("max_score", 1.0);
+        ArrayNode hitArray = hits.putArray("hits");
+        // search_after가 있으면 마지막 페이지로 간주 (PIT 전체 순회가 한 페이지에서 끝나도록)
+        if (!req.has("search_after") && !catalog.isEmpty()) {
+            // 검색어마다 다른 문서가 나오도록 쿼리 해시로 시작 위치를 정함
+            int offset = Math.floorMod(req.path("query").toString().hashCode(), catalog.size());
+            int n = Math.min(size, catalog.size());
+            for (int i = 0; i < n; i++) {
+                int idx = (offset + from + i) % catalog.size();
+                Map<String, Object> doc = catalog.get(idx);
+                ObjectNode hit = hitArray.addObject();
+                hit.put("_index", "oracle_products");
+                hit.put("_id", String.valueOf(doc.getOrDefault("goods_code", idx)));
+                hit.put("_score", 1.0);
+                hit.set("_source", filterSource(doc, req.get("_source")));
+                if (sorted) hit.putArray("sort").add(1.0).add(idx);
+            }
+        }
+
+        JsonNode aggs = req.has("aggregations") ? req.get("aggregations") : req.get("aggs");
+        if (aggs != null) {
+            ObjectNode out = resp.putObject("aggregations");
+            for (Iterator<Map.Entry<String, JsonNode>> it = aggs.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> agg = it.next();
+                int termsSize = agg.getValue().path("terms").path("size").asInt(10);
+                out.set("sterms#" + agg.getKey(), termsAggregate(termsSize));
+            }
+        }
+        JsonNode suggest = req.get("suggest");
+        if (suggest != null) {
+            ObjectNode out = resp.putObject("suggest");
+            for (Iterator<Map.Entry<String, JsonNode>> it = suggest.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> entry = it.next();
+                if (!entry.getValue().isObject()) continue;
+                String prefix = entry.getValue().path("prefix").asText("");
+                int limit = entry.getValue().path("completion").path("size").asInt(5);
+                out.set("completion#" + entry.getKey(), completion(prefix, limit));
+            }
+        }
+        return resp;
+    }
+
+    private JsonNode filterSource(Map<String, Object> doc, JsonNode source) {
+        ObjectNode out = MAPPER.valueToTree(doc);
+        if (source == null || !source.isObject()) return out;
+        List<String> includes = strings(source.get("includes"));
+        List<String> excludes = strings(source.get("excludes"));
+        out.retain(doc.keySet().stream()
+                .filter(f -> includes.isEmpty() || matchesAny(f, includes))
+                .filter(f -> !matchesAny(f, excludes))
+                .toList());
+        return out;
+    }
+
+    private static List<String> strings(JsonNode node) {
+        List<String> out = new ArrayList<>();
+        if (node == null) return out;
+        if (node.isTextual()) out.add(node.asText());
+        else node.forEach(n -> out.add(n.asText()));
+        return out;
+    }
+
+    private static boolean matchesAny(String field, List<String> patterns) {
+        for (String p : patterns) {
+            if (p.endsWith("*") ? field.startsWith(p.substring(0, p.length() - 1)) : field.equals(p)) return true;
+        }
+        return false;
+    }
+
+    // 인기 검색어 집계: 카탈로그 앞쪽 상품명을 내림차순 빈도로 (롤업 집계용 sum#total 포함)
+    private ObjectNode termsAggregate(int size) {
+        ObjectNode agg = MAPPER.createObjectNode();
+        agg.put("doc_count_error_upper_bound", 0);
+        agg.put("sum_other_doc_count", 0);
+        ArrayNode buckets = agg.putArray("buckets");
+        int n = Math.min(size, catalog.size());
+        for (int i = 0; i < n; i++) {
+            long count = 1000L / (i + 1);
+            ObjectNode bucket = buckets.addObject();
+            bucket.put("key", String.valueOf(catalog.get(i).get("goods_name")));
+            bucket.put("doc_count", count);
+            bucket.putObject("sum#total").put("value", (double) count);
+        }
+        return agg;
+    }
+
+    private ArrayNode completion(String prefix, int limit) {
+        ArrayNode entries = MAPPER.createArrayNode();
+        ObjectNode entry = entries.addObject();
+        entry.put("text", prefix);
+        entry.put("offset", 0);
+        entry.put("length", prefix.length());
+        ArrayNode options = entry.putArray("options");
+        String lower = prefix.toLowerCase();
+        for (String name : names.subMap(lower, true, lower + Character.MAX_VALUE, false).values()) {
+            if (options.size() >= limit) break;
+            options.addObject()
+                    .put("text", name)
+                    .put("_index", "oracle_products")
+                    .put("_id", name)
+                    .put("_score", 1.0);
+        }
+        return entries;
+    }
+
+    private ObjectNode msearch(byte[] body) throws IOException {
+        ObjectNode resp = MAPPER.createObjectNode();
+        resp.put("took", latencyMs);
+        ArrayNode responses = resp.putArray("responses");
+        List<String> lines = lines(body);
+        // 헤더 줄 + 본문 줄 쌍
+        for (int i = 0; i + 1 < lines.size(); i += 2) {
+            ObjectNode item = search(MAPPER.readTree(lines.get(i + 1)));
+            item.put("status", 200);
+            responses.add(item);
+        }
+        return resp;
+    }
+
+    private ObjectNode bulk(byte[] body) throws IOException {
+        ObjectNode resp = MAPPER.createObjectNode();
+        resp.put("took", latencyMs);
+        resp.put("errors", false);
+        ArrayNode items = resp.putArray("items");
+        List<String> lines = lines(body);
+        for (int i = 0; i < lines.size(); i++) {
+            JsonNode action = MAPPER.readTree(lines.get(i));
+            String op = action.fieldNames().next();
+            JsonNode meta = action.get(op);
+            // delete 외에는 다음 줄이 문서/스크립트 본문
+            if (!"delete".equals(op)) i++;
+            ObjectNode result = items.addObject().putObject(op);
+            result.put("_index", meta.path("_index").asText("search_log"));
+            result.put("_id", meta.path("_id").asText(Long.toHexString(ThreadLocalRandom.current().nextLong())));
+            boolean created = "index".equals(op) || "create".equals(op);
+            result.put("status", created ? 201 : 200);
+            result.put("result", created ? "created" : "update".equals(op) ? "updated" : "deleted");
+            result.put("_version", 1);
+            result.put("_seq_no", 0);
+            result.put("_primary_term", 1);
+            result.putObject("_shards").put("total", 1).put("successful", 1).put("failed", 0);
+        }
+        return resp;
+    }
+
+    private static List<String> lines(byte[] body) {
+        List<String> out = new ArrayList<>();
+        for (String line : new String(body, StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isBlank()) out.add(line);
+        }
+        return out;
+    }
+
+    private static ObjectNode error(int status, String type, String reason) {
+        ObjectNode resp = MAPPER.createObjectNode();
+        resp.putObject("error").put("type", type).put("reason", reason);
+        resp.put("status", status);
+        return resp;
+    }
+
+    private static byte[] readBody(HttpExchange exchange) throws IOException {
+        InputStream in = exchange.getRequestBody();
+        if ("gzip".equalsIgnoreCase(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+            in = new GZIPInputStream(in);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        in.transferTo(out);
+        return out.toByteArray();
+    }
+
+    private static void write(HttpExchange exchange, int status, JsonNode body) throws IOException {
+        byte[] bytes = MAPPER.writeValueAsBytes(body);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
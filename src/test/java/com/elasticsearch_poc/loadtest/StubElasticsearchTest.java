@@ -0,0 +1,82 @@
+package com.elasticsearch_poc.loadtest;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.MsearchResponse;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.transport.rest_client.RestClientTransport;
+import org.apache.http.HttpHost;
+import org.elasticsearch.client.RestClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Elasticsearch 대역 응답을 실제 Java API Client가 파싱할 수 있는지 확인
+ * (typed_keys 집계/제안 이름, msearch 항목, bulk 결과)
+ */
+class StubElasticsearchTest {
+
+    private StubElasticsearch stub;
+    private RestClientTransport transport;
+    private ElasticsearchClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new StubElasticsearch(new KoreanCatalog(200, 1).products(), 0, 0).start();
+        transport = new RestClientTransport(RestClient.builder(HttpHost.create(stub.url())).build(), new JacksonJsonpMapper());
+        client = new ElasticsearchClient(transport);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        transport.close();
+        stub.close();
+    }
+
+    @Test
+    void searchReturnsProjectedHitsAggregationsAndSuggestions() throws Exception {
+        SearchResponse<Map> response = client.search(s -> s
+                .index("oracle_products")
+                .size(3)
+                .source(src -> src.filter(f -> f.includes("goods_name")))
+                .aggregations("top", a -> a.terms(t -> t.field("keyword").size(2))
+                        .aggregations("total", sum -> sum.sum(v -> v.field("count"))))
+                .suggest(sg -> sg.suggesters("names", fs -> fs
+                        .prefix("삼성")
+                        .completion(c -> c.field("suggest").size(2)))), Map.class);
+
+        assertEquals(3, response.hits().hits().size());
+        assertEquals(Set.of("goods_name"), response.hits().hits().get(0).source().keySet());
+        assertEquals(2, response.aggregations().get("top").sterms().buckets().array().size());
+        assertTrue(response.aggregations().get("top").sterms().buckets().array().get(0)
+                .aggregations().get("total").sum().value() > 0);
+        assertEquals(2, response.suggest().get("names").get(0).completion().options().size());
+    }
+
+    @Test
+    void msearchAndBulkAreParsed() throws Exception {
+        MsearchResponse<Map> msearch = client.msearch(m -> m
+                .index("oracle_products")
+                .searches(i -> i.header(h -> h).body(b -> b.size(1)))
+                .searches(i -> i.header(h -> h).body(b -> b.size(2))), Map.class);
+        assertEquals(2, msearch.responses().size());
+        assertEquals(2, msearch.responses().get(1).result().hits().hits().size());
+
+        BulkResponse bulk = client.bulk(b -> b
+                .operations(op -> op.index(i -> i.index("search_log").document(Map.of("keyword", "노트북"))))
+                .operations(op -> op.delete(d -> d.index("search_log").id("1"))));
+        assertFalse(bulk.errors());
+        assertEquals(List.of(201, 200), bulk.items().stream().map(BulkResponseItem::status).toList());
+        assertEquals(1L, stub.requestCounts().get("msearch"));
+        assertEquals(1L, stub.requestCounts().get("bulk"));
+    }
+}
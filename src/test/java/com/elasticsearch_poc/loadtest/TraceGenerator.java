@@ -0,0 +1,176 @@
+package com.elasticsearch_poc.loadtest;
+
+import com.elasticsearch_poc.service.suggest.Hangul;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 재생 가능한 검색/자동완성 요청 trace (NDJSON) 생성
+ * - 검색 trace: 검색어를 Zipf 분포로 뽑아 포아송 도착 간격으로 /api/search 요청 기록 (일부는 초성 검색, 일부는 2페이지)
+ * - 입력 trace: 사용자별 타이핑 세션을 흉내 내어 글쇠마다 /api/suggest 요청 기록
+ *   (두벌식 조합 중간 상태 포함: "노트북" -> ㄴ, 노, 놑, 노트, 노틉, 노트부, 노트북)
+ *   세션은 끝까지 입력하거나 중간에 제안을 골라 멈추고, 끝까지 입력한 세션은 /api/search로 마무리
+ * 한 줄 형식: {"t_ms":123,"endpoint":"suggest","path":"/api/suggest?...","session":7}
+ * t_ms는 생성 시 도착 시각이며, LoadDriver는 줄 순서(세션 간 교차 포함)를 유지한 채 지정한 요청률로 재생
+ */
+public final class TraceGenerator {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // 초성/종성 (Hangul Compatibility Jamo), 종성 0은 받침 없음
+    private static final String CHOSUNG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+    private static final String JONGSUNG = "\0ㄱㄲㄳㄴㄵㄶㄷㄹㄺㄻㄼㄽㄾㄿㅀㅁㅂㅄㅅㅆㅇㅈㅊㅋㅌㅍㅎ";
+
+    private final List<String> vocabulary;
+    private final Zipf zipf;
+    private final long seed;
+
+    /**
+     * @param vocabulary 인기 순위대로 정렬된 검색어
+     * @param exponent Zipf 지수
+     */
+    public TraceGenerator(List<String> vocabulary, double exponent, long seed) {
+        this.vocabulary = vocabulary;
+        this.zipf = new Zipf(vocabulary.size(), exponent);
+        this.seed = seed;
+    }
+
+    /**
+     * 검색 trace
+     * @param count 요청 수
+     * @param rate 평균 도착률 (req/s, t_ms 계산용)
+     * @param chosungRatio 검색어를 초성으로 바꿔 보내는 비율
+     */
+    public int writeQueryTrace(Path path, int count, double rate, double chosungRatio) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        double t = 0;
+        try (BufferedWriter out = writer(path)) {
+            for (int i = 0; i < count; i++) {
+                t += exponential(random, rate);
+                String q = vocabulary.get(zipf.next(random));
+                if (random.nextDouble() < chosungRatio) q = Hangul.toChosung(q);
+                int page = random.nextDouble() < 0.1 ? 2 : 1;
+                write(out, (long) t, "search", searchPath(q, page), -1);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 입력(keystroke) trace
+     * @param sessions 타이핑 세션 수
+     * @param sessionRate 초당 새 세션 수
+     * @param keyDelayMs 평균 글쇠 간격
+     * @param debounceMs 클라이언트 debounce (다음 글쇠가 이 시간 안에 오면 요청 생략, 0이면 매 글쇠 요청)
+     * @return 기록한 요청 수
+     */
+    public int writeKeystrokeTrace(Path path, int sessions, double sessionRate, long keyDelayMs, long debounceMs) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed + 1);
+        List<Event> events = new ArrayList<>();
+        double start = 0;
+        for (int session = 0; session < sessions; session++) {
+            start += exponential(random, sessionRate);
+            String target = vocabulary.get(zipf.next(random));
+            List<String> stages = keystrokes(target);
+            // 40%는 중간에 제안을 골라 입력을 멈춤 (최소 한 글자 이상 입력)
+            int typed = random.nextDouble() < 0.4
+                    ? Math.max(1, (int) Math.ceil(stages.size() * (0.3 + 0.5 * random.nextDouble())))
+                    : stages.size();
+            double t = start;
+            for (int k = 0; k < typed; k++) {
+                double next = t + keyDelayMs * (0.5 + random.nextDouble());
+                boolean last = k == typed - 1;
+                if (last || debounceMs <= 0 || next - t >= debounceMs) {
+                    events.add(new Event((long) t, "suggest", suggestPath(stages.get(k)), session));
+                }
+                t = next;
+            }
+            if (typed == stages.size()) {
+                events.add(new Event((long) t, "search", searchPath(target, 1), session));
+            }
+        }
+        events.sort(Comparator.comparingLong(Event::tMs));
+        try (BufferedWriter out = writer(path)) {
+            for (Event e : events) write(out, e.tMs(), e.endpoint(), e.path(), e.session());
+        }
+        return events.size();
+    }
+
+    /**
+     * 두벌식 자판으로 입력할 때 화면에 보이는 중간 문자열 목록
+     * - 음절마다 초성 -> 초성+중성 -> (받침) 순으로 조합
+     * - 앞 음절에 받침이 없으면 다음 초성이 먼저 받침으로 붙었다가 모음 입력 시 넘어감 (노 + ㅌ = 놑)
+     * 겹모음/겹받침의 중간 상태는 생략
+     */
+    public static List<String> keystrokes(String text) {
+        List<String> stages = new ArrayList<>();
+        StringBuilder composed = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (ch < '가' || ch > '힣') {
+                composed.append(ch);
+                stages.add(composed.toString());
+                continue;
+            }
+            int code = ch - '가';
+            int cho = code / (21 * 28);
+            int jung = (code / 28) % 21;
+            int jong = code % 28;
+            char choJamo = CHOSUNG.charAt(cho);
+
+            int len = composed.length();
+            char prev = len > 0 ? composed.charAt(len - 1) : 0;
+            int asJong = JONGSUNG.indexOf(choJamo);
+            if (prev >= '가' && prev <= '힣' && (prev - '가') % 28 == 0 && asJong > 0) {
+                stages.add(composed.substring(0, len - 1) + (char) (prev + asJong));
+            } else {
+                stages.add(composed.toString() + choJamo);
+            }
+            char open = (char) ('가' + (cho * 21 + jung) * 28);
+            stages.add(composed.toString() + open);
+            if (jong != 0) stages.add(composed.toString() + ch);
+            composed.append(ch);
+        }
+        return stages;
+    }
+
+    private static String searchPath(String q, int page) {
+        return "/api/search?size=10&page=" + page + "&q=" + LoadDriver.encode(q);
+    }
+
+    private static String suggestPath(String prefix) {
+        return "/api/suggest?limit=8&prefix=" + LoadDriver.encode(prefix);
+    }
+
+    // 포아송 도착 간격 (ms)
+    private static double exponential(SplittableRandom random, double ratePerSecond) {
+        return -Math.log(1 - random.nextDouble()) * 1000.0 / ratePerSecond;
+    }
+
+    private static BufferedWriter writer(Path path) throws IOException {
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+        return Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+    }
+
+    private static void write(BufferedWriter out, long tMs, String endpoint, String path, int session) throws IOException {
+        ObjectNode line = MAPPER.createObjectNode();
+        line.put("t_ms", tMs);
+        line.put("endpoint", endpoint);
+        line.put("path", path);
+        if (session >= 0) line.put("session", session);
+        out.write(MAPPER.writeValueAsString(line));
+        out.newLine();
+    }
+
+    private record Event(long tMs, String endpoint, String path, int session) {}
+}
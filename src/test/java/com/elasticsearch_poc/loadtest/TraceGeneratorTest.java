@@ -0,0 +1,38 @@
+package com.elasticsearch_poc.loadtest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 합성 카탈로그/trace 생성 테스트
+ */
+class TraceGeneratorTest {
+
+    @Test
+    void keystrokesFollowTwoSetKeyboardComposition() {
+        assertEquals(List.of("ㄴ", "노", "놑", "노트", "노틉", "노트부", "노트북"), TraceGenerator.keystrokes("노트북"));
+        // 받침 있는 음절 뒤의 초성은 따로 표시, 공백/영숫자는 그대로
+        assertEquals(List.of("ㅅ", "사", "삼", "삼ㅅ", "삼서", "삼성", "삼성 ", "삼성 A"), TraceGenerator.keystrokes("삼성 A"));
+    }
+
+    @Test
+    void catalogAndTracesAreReproducible(@TempDir Path dir) throws Exception {
+        KoreanCatalog catalog = new KoreanCatalog(100, 7);
+        assertEquals(catalog.product(42), new KoreanCatalog(100, 7).product(42));
+        assertEquals("G00000043", catalog.product(42).get("goods_code"));
+
+        List<String> vocabulary = catalog.queryVocabulary(50);
+        new TraceGenerator(vocabulary, 1.0, 7).writeKeystrokeTrace(dir.resolve("a.ndjson"), 50, 10, 150, 0);
+        new TraceGenerator(vocabulary, 1.0, 7).writeKeystrokeTrace(dir.resolve("b.ndjson"), 50, 10, 150, 0);
+        assertEquals(Files.readAllLines(dir.resolve("a.ndjson")), Files.readAllLines(dir.resolve("b.ndjson")));
+
+        TraceRequestSource source = TraceRequestSource.read(dir.resolve("a.ndjson"));
+        assertTrue(source.next(null).pathAndQuery().startsWith("/api/suggest?"));
+    }
+}
@@ -0,0 +1,53 @@
+package com.elasticsearch_poc.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * TraceGenerator가 만든 NDJSON trace를 줄 순서대로 재생 (끝나면 처음부터 반복)
+ * LoadDriver는 한 스레드에서 next를 호출하므로 동기화하지 않음
+ */
+public class TraceRequestSource implements LoadDriver.RequestSource {
+
+    private final List<LoadDriver.Request> requests;
+    private int position;
+
+    public TraceRequestSource(List<LoadDriver.Request> requests) {
+        if (requests.isEmpty()) throw new IllegalArgumentException("trace is empty");
+        this.requests = requests;
+    }
+
+    public static TraceRequestSource read(Path path) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        List<LoadDriver.Request> requests = new ArrayList<>();
+        try (BufferedReader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isBlank()) continue;
+                JsonNode node = mapper.readTree(line);
+                requests.add(new LoadDriver.Request(node.path("endpoint").asText("trace"), node.get("path").asText()));
+            }
+        }
+        return new TraceRequestSource(requests);
+    }
+
+    public int size() {
+        return requests.size();
+    }
+
+    @Override
+    public LoadDriver.Request next(RandomGenerator random) {
+        LoadDriver.Request request = requests.get(position);
+        position = (position + 1) % requests.size();
+        return request;
+    }
+}
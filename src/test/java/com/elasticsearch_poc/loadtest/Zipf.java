@@ -0,0 +1,40 @@
+package com.elasticsearch_poc.loadtest;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Zipf 분포 순위 샘플러
+ * 순위 r(0부터)이 1/(r+1)^s 에 비례하는 확률로 뽑힘 (누적 분포 + 이진 탐색)
+ */
+public final class Zipf {
+
+    private final double[] cdf;
+
+    /**
+     * @param n 순위 수
+     * @param exponent 지수 s (검색 로그는 보통 0.8~1.2)
+     */
+    public Zipf(int n, double exponent) {
+        if (n <= 0) throw new IllegalArgumentException("n must be positive: " + n);
+        cdf = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1.0 / Math.pow(i + 1, exponent);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= sum;
+        }
+    }
+
+    public int next(RandomGenerator random) {
+        int idx = Arrays.binarySearch(cdf, random.nextDouble());
+        if (idx < 0) idx = -idx - 1;
+        return Math.min(idx, cdf.length - 1);
+    }
+
+    public int size() {
+        return cdf.length;
+    }
+}
@@ -0,0 +1,53 @@
+package com.elasticsearch_poc.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 커서 토큰 서명/검증 테스트
+ */
+class SearchCursorTest {
+
+    private static final byte[] KEY = "test-secret".getBytes(StandardCharsets.UTF_8);
+    private static final SearchCursor CURSOR =
+            new SearchCursor("pit-1", List.of(1.5, 42), "노트북", null, 20, 2, 1234);
+
+    @Test
+    void roundTripsSignedToken() {
+        assertEquals(CURSOR, SearchCursor.decode(CURSOR.encode(KEY), KEY, 100));
+    }
+
+    @Test
+    void rejectsTamperedPayload() {
+        String token = CURSOR.encode(KEY);
+        String signature = token.substring(token.lastIndexOf('.') + 1);
+        String payload = new String(Base64.getUrlDecoder().decode(token.substring(0, token.lastIndexOf('.'))),
+                StandardCharsets.UTF_8).replace("\"size\":20", "\"size\":100000");
+        String forged = Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8))
+                + "." + signature;
+
+        assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode(forged, KEY, 100));
+    }
+
+    @Test
+    void rejectsOtherKeyAndUnsignedToken() {
+        String token = CURSOR.encode(KEY);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> SearchCursor.decode(token, "other".getBytes(StandardCharsets.UTF_8), 100));
+        assertThrows(IllegalArgumentException.class,
+                () -> SearchCursor.decode(token.substring(0, token.lastIndexOf('.')), KEY, 100));
+    }
+
+    @Test
+    void rejectsSizeAboveMax() {
+        String token = CURSOR.encode(KEY);
+
+        assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode(token, KEY, 10));
+    }
+}
@@ -0,0 +1,242 @@
+package com.elasticsearch_poc.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.bulk.OperationType;
+import co.elastic.clients.json.JsonData;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.transport.rest_client.RestClientTransport;
+import com.elasticsearch_poc.dto.kafka.KeywordDto;
+import com.elasticsearch_poc.service.suggest.SpellCorrectionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.HttpHost;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.elasticsearch.client.RestClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 배치 재처리(redelivery) 시 원본 로그/롤업 중복 집계 방지 테스트
+ * _bulk는 메모리 안의 가짜 Elasticsearch가 처리하며, 롤업 update는 ROLLUP_SCRIPT와 같은 규칙으로 적용
+ * (스크립트 자체는 SearchLogIntegrationTest에서 실제 Elasticsearch로 검증하고, 여기서는 전달되는 스크립트/파라미터를 검증)
+ */
+class SearchLogConsumerTest {
+
+    private static final String TOPIC = "search-log";
+    private static final LocalDateTime TIME = LocalDateTime.of(2026, 1, 1, 10, 30);
+
+    private RestClientTransport transport;
+    private FakeElasticsearch es;
+    private SimpleMeterRegistry registry;
+    private PopularRecentService popularRecentService;
+    private SearchLogConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        transport = new RestClientTransport(RestClient.builder(HttpHost.create("http://127.0.0.1:9")).build(),
+                new JacksonJsonpMapper());
+        es = new FakeElasticsearch(transport);
+        registry = new SimpleMeterRegistry();
+        popularRecentService = mock(PopularRecentService.class);
+        consumer = new SearchLogConsumer(popularRecentService, es, mock(SpellCorrectionService.class), registry);
+        ReflectionTestUtils.setField(consumer, "searchLogWriteAlias", "search_log_write");
+        ReflectionTestUtils.setField(consumer, "searchLogRollupIndex", "search_log_rollup");
+        // 원본 4건 + 롤업 4건 -> [원본 3] [원본 1, 롤업 2] [롤업 2] 세 번의 _bulk
+        ReflectionTestUtils.setField(consumer, "bulkMaxDocs", 3);
+        ReflectionTestUtils.setField(consumer, "bulkMaxBytes", 5_242_880L);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        transport.close();
+    }
+
+    @Test
+    void redeliveredBatchDoesNotDoubleCount() throws Exception {
+        List<ConsumerRecord<String, KeywordDto>> batch = List.of(
+                record(0, 0, "노트북"), record(0, 1, "마우스"), record(0, 2, "키보드"), record(0, 3, "모니터"));
+
+        // 세 번째 _bulk가 실패하면 앞 청크의 롤업 upsert 2건은 이미 반영된 상태로 배치 전체가 재전달됨
+        es.failOnCall = 3;
+        assertThrows(IOException.class, () -> consumer.consumeSearchLogs(batch));
+        assertEquals(1L, es.rollupCount("노트북"));
+
+        consumer.consumeSearchLogs(batch);
+
+        assertEquals(4, es.index("search_log_write").size());
+        for (String keyword : List.of("노트북", "마우스", "키보드", "모니터")) {
+            assertEquals(1L, es.rollupCount(keyword), keyword);
+        }
+    }
+
+    @Test
+    void redeliveryWithMoreRecordsCountsOnlyNewOffsets() throws Exception {
+        es.failOnCall = 3;
+        assertThrows(IOException.class, () -> consumer.consumeSearchLogs(List.of(
+                record(0, 0, "노트북"), record(0, 1, "마우스"), record(0, 2, "키보드"), record(0, 3, "모니터"))));
+
+        // 재전달된 poll에 뒤 레코드가 더 붙어 올 수 있음 (다른 파티션의 같은 검색어는 따로 집계)
+        consumer.consumeSearchLogs(List.of(
+                record(0, 0, "노트북"), record(0, 1, "마우스"), record(0, 2, "키보드"), record(0, 3, "모니터"),
+                record(0, 4, "노트북"), record(1, 0, "노트북")));
+
+        assertEquals(6, es.index("search_log_write").size());
+        assertEquals(3L, es.rollupCount("노트북"));
+        assertEquals(1L, es.rollupCount("마우스"));
+    }
+
+    @Test
+    void retryableItemFailureRedeliversBatchInsteadOfDropping() throws Exception {
+        List<ConsumerRecord<String, KeywordDto>> batch = List.of(
+                record(0, 0, "노트북"), record(0, 1, "마우스"), record(0, 2, "키보드"), record(0, 3, "모니터"));
+        ReflectionTestUtils.setField(consumer, "itemRetries", 1);
+
+        // 429가 재시도 후에도 계속되면 오프셋을 커밋하지 않도록 예외
+        es.itemStatus.put("search-log-0-1", 429);
+        assertThrows(IOException.class, () -> consumer.consumeSearchLogs(batch));
+        assertEquals(0.0, registry.get("search_log.consumer.bulk.failures").counter().count());
+
+        es.itemStatus.clear();
+        consumer.consumeSearchLogs(batch);
+
+        assertEquals(4, es.index("search_log_write").size());
+        assertEquals(1L, es.rollupCount("마우스"));
+        // 인메모리 통계는 처음 전달될 때 한 번만 반영
+        verify(popularRecentService, times(1)).recordQuery("마우스");
+    }
+
+    @Test
+    void nonRetryableItemFailureIsDroppedAndCounted() throws Exception {
+        es.itemStatus.put("search-log-0-1", 400);
+
+        consumer.consumeSearchLogs(List.of(record(0, 0, "노트북"), record(0, 1, "마우스")));
+
+        assertEquals(1, es.index("search_log_write").size());
+        assertEquals(1.0, registry.get("search_log.consumer.bulk.failures").counter().count());
+    }
+
+    @Test
+    void inMemoryStatsAreUpdatedEvenWhileElasticsearchFails() {
+        es.failOnCall = 1;
+
+        assertThrows(IOException.class, () -> consumer.consumeSearchLogs(List.of(record(0, 0, "노트북"))));
+
+        verify(popularRecentService, times(1)).recordQuery("노트북");
+    }
+
+    private static ConsumerRecord<String, KeywordDto> record(int partition, long offset, String keyword) {
+        return new ConsumerRecord<>(TOPIC, partition, offset, null, new KeywordDto("user", keyword, TIME));
+    }
+
+    /**
+     * _bulk만 처리하는 메모리 Elasticsearch (failOnCall번째 호출은 한 번만 IOException)
+     */
+    private static class FakeElasticsearch extends ElasticsearchClient {
+
+        private final Map<String, Map<String, Map<String, Object>>> indices = new HashMap<>();
+        private int calls;
+        int failOnCall = -1;
+        // 원본 문서 ID -> 아이템 응답 status (지정한 동안 계속 실패)
+        final Map<String, Integer> itemStatus = new HashMap<>();
+
+        FakeElasticsearch(RestClientTransport transport) {
+            super(transport);
+        }
+
+        Map<String, Map<String, Object>> index(String name) {
+            return indices.computeIfAbsent(name, k -> new HashMap<>());
+        }
+
+        long rollupCount(String keyword) {
+            return index("search_log_rollup").values().stream()
+                    .filter(doc -> keyword.equals(doc.get("keyword")))
+                    .mapToLong(doc -> ((Number) doc.get("count")).longValue())
+                    .sum();
+        }
+
+        @Override
+        public BulkResponse bulk(BulkRequest request) throws IOException {
+            if (++calls == failOnCall) {
+                failOnCall = -1;
+                throw new IOException("connection reset");
+            }
+            List<BulkResponseItem> items = new ArrayList<>();
+            for (BulkOperation op : request.operations()) {
+                if (op.isIndex()) {
+                    var index = op.index();
+                    String id = index.id() != null ? index.id() : "auto-" + calls + "-" + items.size();
+                    Integer status = itemStatus.get(id);
+                    if (status != null) {
+                        items.add(BulkResponseItem.of(i -> i.operationType(OperationType.Index).index(index.index())
+                                .id(id).status(status).error(e -> e.type("rejected").reason("status " + status))));
+                        continue;
+                    }
+                    index(index.index()).put(id, toMap(index.document()));
+                    items.add(item(OperationType.Index, index.index(), id, 201));
+                } else {
+                    var update = op.update();
+                    var script = update.action().script().inline();
+                    assertEquals(SearchLogConsumer.ROLLUP_SCRIPT, script.source());
+                    assertEquals(Set.of("partition", "offsets"), script.params().keySet());
+                    applyRollup(index(update.index()), update.id(), update.action().upsert(), script.params());
+                    items.add(item(OperationType.Update, update.index(), update.id(), 200));
+                }
+            }
+            return BulkResponse.of(b -> b.errors(false).took(1).items(items));
+        }
+
+        // ROLLUP_SCRIPT와 같은 규칙: 파티션별 마지막 반영 오프셋보다 큰 오프셋만 count에 더함
+        @SuppressWarnings("unchecked")
+        private static void applyRollup(Map<String, Map<String, Object>> index, String id, Object upsert,
+                                        Map<String, JsonData> params) {
+            Map<String, Object> doc = index.get(id);
+            if (doc == null) {
+                index.put(id, toMap(upsert));
+                return;
+            }
+            String partition = params.get("partition").to(String.class);
+            List<Number> offsets = params.get("offsets").to(List.class);
+            Map<String, Object> applied = (Map<String, Object>) doc.computeIfAbsent("applied", k -> new HashMap<>());
+            Number last = (Number) applied.get(partition);
+            long added = 0;
+            long max = last == null ? -1 : last.longValue();
+            for (Number offset : offsets) {
+                if (last == null || offset.longValue() > last.longValue()) added++;
+                max = Math.max(max, offset.longValue());
+            }
+            if (added > 0) {
+                doc.put("count", ((Number) doc.get("count")).longValue() + added);
+                applied.put(partition, max);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Map<String, Object> toMap(Object document) {
+            Map<String, Object> copy = new HashMap<>((Map<String, Object>) document);
+            copy.computeIfPresent("applied", (k, v) -> new HashMap<>((Map<String, Object>) v));
+            return copy;
+        }
+
+        private static BulkResponseItem item(OperationType type, String index, String id, int status) {
+            return BulkResponseItem.of(i -> i.operationType(type).index(index).id(id).status(status));
+        }
+    }
+}
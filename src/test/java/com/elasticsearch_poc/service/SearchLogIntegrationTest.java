@@ -1,7 +1,9 @@
 package com.elasticsearch_poc.service;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.Refresh;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.json.JsonData;
 import com.elasticsearch_poc.dto.kafka.KeywordDto;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
@@ -12,7 +14,9 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.test.context.TestPropertySource;
 
+import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -144,4 +148,53 @@ class SearchLogIntegrationTest {
             log.info("{}: {}회", item.get("keyword"), item.get("count"))
         );
     }
+
+    /**
+     * 롤업 painless 스크립트 검증 (실제 Elasticsearch)
+     * 같은 오프셋이 다시 오면 noop, 새 오프셋만 count에 더하는지 확인
+     */
+    @Test
+    void testRollupScriptSkipsAppliedOffsets() throws Exception {
+        String index = "search_log_rollup_test_" + System.currentTimeMillis();
+        try (InputStream mapping = getClass().getResourceAsStream("/elasticsearch/create_search_log_rollup_index.json")) {
+            esClient.indices().create(c -> c.index(index).withJson(mapping));
+        }
+        try {
+            Map<String, Object> upsert = new HashMap<>();
+            upsert.put("keyword", "롤업");
+            upsert.put("hour", "2026-01-01T10:00:00Z");
+            upsert.put("count", 2L);
+            upsert.put("applied", Map.of("search-log-0", 1L));
+
+            // 처음: 문서가 없으므로 upsert 문서로 생성, 재전달: 모두 반영된 오프셋이라 noop, 이후: 새 오프셋 2건만 추가
+            rollupUpdate(index, upsert, List.of(0L, 1L));
+            rollupUpdate(index, upsert, List.of(0L, 1L));
+            rollupUpdate(index, upsert, List.of(1L, 2L, 3L));
+
+            Map<String, Object> doc = esClient.get(g -> g.index(index).id("rollup"), Map.class).source();
+            assertNotNull(doc);
+            assertEquals(4, ((Number) doc.get("count")).intValue());
+            assertEquals(3, ((Number) ((Map<?, ?>) doc.get("applied")).get("search-log-0")).intValue());
+        } finally {
+            esClient.indices().delete(d -> d.index(index));
+        }
+    }
+
+    private void rollupUpdate(String index, Map<String, Object> upsert, List<Long> offsets) throws Exception {
+        esClient.update(u -> u
+            .index(index)
+            .id("rollup")
+            .refresh(Refresh.True)
+            .script(sc -> sc
+                .inline(in -> in
+                    .lang("painless")
+                    .source(SearchLogConsumer.ROLLUP_SCRIPT)
+                    .params("partition", JsonData.of("search-log-0"))
+                    .params("offsets", JsonData.of(offsets))
+                )
+            )
+            .upsert(upsert),
+            Map.class
+        );
+    }
 }
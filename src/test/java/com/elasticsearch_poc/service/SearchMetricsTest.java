@@ -0,0 +1,47 @@
+package com.elasticsearch_poc.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 검색 메트릭/느린 쿼리 집계 테스트
+ */
+class SearchMetricsTest {
+
+    @Test
+    void recordsTimersPerOperationAndOutcome() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SearchMetrics metrics = new SearchMetrics(registry, 60_000, 1.0);
+
+        long start = System.nanoTime();
+        metrics.record("search", start, null, 10, "노트북");
+        metrics.record("search", start, null, 0, "없는상품");
+        metrics.recordFailure("suggest", start);
+
+        assertEquals(2, registry.get("search.requests").tags("operation", "search", "outcome", "success").timer().count());
+        assertEquals(1, registry.get("search.requests").tags("operation", "suggest", "outcome", "error").timer().count());
+        assertEquals(1.0, registry.get("search.results.empty").tag("operation", "search").counter().count());
+        assertEquals(0.0, registry.get("search.slow").tag("operation", "search").counter().count());
+    }
+
+    @Test
+    void countsSlowCallsEvenWhenNotSampled() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SearchMetrics metrics = new SearchMetrics(registry, 0, 0.0);
+
+        metrics.record("search", System.nanoTime(), null, 1, "노트북");
+        metrics.record("search", System.nanoTime(), null, 1, "노트북");
+
+        assertEquals(2.0, registry.get("search.slow").tag("operation", "search").counter().count());
+    }
+
+    @Test
+    void quotesQueryForLogging() {
+        assertEquals("\"노트북\"", SearchMetrics.quoted("노트북"));
+        // 개행으로 가짜 로그 줄을 만들 수 없도록 escape
+        assertEquals("\"a\\n[WARN] fake \\\"b\\\"\"", SearchMetrics.quoted("a\n[WARN] fake \"b\""));
+        assertEquals("null", SearchMetrics.quoted(null));
+    }
+}
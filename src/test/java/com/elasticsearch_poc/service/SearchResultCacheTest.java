@@ -0,0 +1,37 @@
+package com.elasticsearch_poc.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 검색 결과 캐시 키 정규화 테스트
+ */
+class SearchResultCacheTest {
+
+    @Test
+    void collapsesWhitespaceButKeepsCase() {
+        SearchResultCache.Key key = SearchResultCache.key("  삼성   노트북 ", " goods_name ", 10, 0, null);
+
+        assertEquals("삼성 노트북", key.q());
+        assertEquals("goods_name", key.field());
+        assertEquals(SourceProjection.FULL, key.projection());
+    }
+
+    @Test
+    void goodsCodesDifferingOnlyInCaseUseDifferentKeys() {
+        // goods_code는 대소문자를 구분하는 keyword 매칭이므로 서로 다른 결과를 캐시해야 함
+        assertNotEquals(SearchResultCache.key("ab1001", "goods_code", 10, 0, null),
+                SearchResultCache.key("AB1001", "goods_code", 10, 0, null));
+    }
+
+    @Test
+    void appliesSearchDefaults() {
+        SearchResultCache.Key key = SearchResultCache.key("  ", null, 0, -5, null);
+
+        assertEquals("*", key.q());
+        assertEquals("", key.field());
+        assertEquals(10, key.size());
+        assertEquals(0, key.from());
+    }
+}
@@ -0,0 +1,62 @@
+package com.elasticsearch_poc.service.popular;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 인메모리 Top-K 엔진 테스트
+ */
+class HeavyHitterTrackerTest {
+
+    /**
+     * 롱테일 검색어가 capacity를 넘어도 메모리는 고정되고 상위 검색어는 유지
+     */
+    @Test
+    void spaceSavingKeepsHeavyHittersWithinCapacity() {
+        SpaceSavingTracker tracker = new SpaceSavingTracker(10);
+        for (int i = 0; i < 1000; i++) {
+            tracker.offer("노트북");
+            if (i % 2 == 0) tracker.offer("마우스");
+            tracker.offer("롱테일_" + i);
+        }
+
+        assertEquals(10, tracker.size());
+        assertEquals(2500, tracker.totalCount());
+
+        List<HeavyHitter> top = tracker.topK(2);
+        assertEquals("노트북", top.get(0).keyword());
+        assertEquals("마우스", top.get(1).keyword());
+        // 실제 빈도는 [count - error, count] 구간에 존재
+        HeavyHitter laptop = top.get(0);
+        assertTrue(laptop.count() - laptop.error() <= 1000 && 1000 <= laptop.count());
+    }
+
+    @Test
+    void spaceSavingIsExactBelowCapacity() {
+        SpaceSavingTracker tracker = new SpaceSavingTracker(10);
+        tracker.offer("a");
+        tracker.offer("b");
+        tracker.offer("b");
+
+        List<HeavyHitter> top = tracker.topK(10);
+        assertEquals(List.of(new HeavyHitter("b", 2, 0), new HeavyHitter("a", 1, 0)), top);
+    }
+
+    @Test
+    void countMinReportsErrorBound() {
+        CountMinTopKTracker tracker = new CountMinTopKTracker(5, 0.01, 0.99);
+        for (int i = 0; i < 500; i++) {
+            tracker.offer("키보드");
+            tracker.offer("롱테일_" + i);
+        }
+
+        List<HeavyHitter> top = tracker.topK(1);
+        assertEquals("키보드", top.get(0).keyword());
+        assertTrue(top.get(0).count() >= 500);
+        assertEquals((long) Math.ceil(0.01 * 1000), top.get(0).error());
+        assertEquals(5, tracker.size());
+    }
+}
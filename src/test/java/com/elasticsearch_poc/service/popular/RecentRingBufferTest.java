@@ -0,0 +1,64 @@
+package com.elasticsearch_poc.service.popular;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 최근 검색어 링 버퍼 테스트
+ */
+class RecentRingBufferTest {
+
+    @Test
+    void returnsNewestFirstAndOverwritesOldest() {
+        RecentRingBuffer buffer = new RecentRingBuffer(3);
+        for (int i = 1; i <= 5; i++) {
+            buffer.add("k" + i, i);
+        }
+
+        List<String> keywords = buffer.newest(10).stream().map(RecentRingBuffer.Entry::keyword).toList();
+        assertEquals(List.of("k5", "k4", "k3"), keywords);
+        assertEquals(List.of("k5"), buffer.newest(1).stream().map(RecentRingBuffer.Entry::keyword).toList());
+    }
+
+    @Test
+    void emptyBufferReturnsNothing() {
+        assertTrue(new RecentRingBuffer(4).newest(10).isEmpty());
+    }
+
+    /**
+     * 동시 기록 중에도 읽기 결과는 중복 없이 최신순
+     */
+    @Test
+    void concurrentWritersKeepReadsOrdered() throws Exception {
+        RecentRingBuffer buffer = new RecentRingBuffer(64);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 10_000; i++) {
+                    buffer.add("t" + thread + "-" + i, i);
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        for (int r = 0; r < 1_000; r++) {
+            List<RecentRingBuffer.Entry> entries = buffer.newest(32);
+            for (int i = 1; i < entries.size(); i++) {
+                assertTrue(entries.get(i - 1).seq() > entries.get(i).seq());
+            }
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(32, buffer.newest(32).size());
+    }
+}
@@ -0,0 +1,50 @@
+package com.elasticsearch_poc.service.suggest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 인메모리 자동완성 인덱스 테스트
+ */
+class LocalSuggestIndexTest {
+
+    private static LocalSuggestIndex sample() {
+        Map<String, Long> weights = new LinkedHashMap<>();
+        weights.put("삼성 노트북", 5L);
+        weights.put("노트북 가방", 20L);
+        weights.put("노트 필기", 1L);
+        weights.put("LG 그램 노트북", 10L);
+        weights.put("무선 마우스", 3L);
+        return LocalSuggestIndex.build(weights, 0L);
+    }
+
+    @Test
+    void ranksByWeightAcrossWordStarts() {
+        assertEquals(List.of("노트북 가방", "LG 그램 노트북", "삼성 노트북", "노트 필기"), sample().suggest("노트", 10));
+        assertEquals(List.of("노트북 가방", "LG 그램 노트북"), sample().suggest("노트", 2));
+    }
+
+    @Test
+    void matchesChosungAndIgnoresCase() {
+        assertEquals(List.of("노트북 가방", "LG 그램 노트북", "삼성 노트북"), sample().suggest("ㄴㅌㅂ", 10));
+        assertEquals(List.of("LG 그램 노트북"), sample().suggest("lg", 10));
+    }
+
+    @Test
+    void unknownPrefixReturnsNothing() {
+        assertTrue(sample().suggest("키보드", 10).isEmpty());
+        assertTrue(LocalSuggestIndex.build(Map.of(), 0L).suggest("노트", 10).isEmpty());
+    }
+
+    @Test
+    void decomposesChosung() {
+        assertEquals("ㅅㅅ ㄴㅌㅂ", Hangul.toChosung("삼성 노트북"));
+        assertTrue(Hangul.isChosungLike("ㄴㅌ ㅂ"));
+        assertFalse(Hangul.isChosungLike("노트"));
+    }
+}
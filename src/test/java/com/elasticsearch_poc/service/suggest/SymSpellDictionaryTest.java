@@ -0,0 +1,109 @@
+package com.elasticsearch_poc.service.suggest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SymSpell 오타 교정 사전 테스트
+ */
+class SymSpellDictionaryTest {
+
+    @Test
+    void correctsSubstitutionInsertionAndTransposition() {
+        SymSpellDictionary dict = new SymSpellDictionary(2, 7);
+        dict.add("노트북", 10);
+        dict.add("노트", 3);
+        dict.add("마우스", 5);
+
+        assertEquals("노트북", dict.lookup("노투북", 5).get(0).term());
+        assertEquals("노트북", dict.lookup("노트북북", 5).get(0).term());
+        assertEquals("노트북", dict.lookup("노북트", 5).get(0).term());
+        assertEquals("마우스", dict.lookup("마우스", 5).get(0).term());
+        assertEquals(0, dict.lookup("마우스", 5).get(0).distance());
+    }
+
+    @Test
+    void ordersByDistanceThenCount() {
+        SymSpellDictionary dict = new SymSpellDictionary(2, 7);
+        dict.add("galaxy", 1);
+        dict.add("galaxy", 1);
+        dict.add("galaxi", 5);
+        dict.add("gala", 100);
+
+        List<String> terms = dict.lookup("galaxx", 5).stream().map(SymSpellDictionary.Suggestion::term).toList();
+        assertEquals(List.of("galaxi", "galaxy", "gala"), terms);
+        assertEquals(2, dict.lookup("galaxy", 1).get(0).count());
+    }
+
+    @Test
+    void rejectsCandidatesBeyondMaxDistance() {
+        SymSpellDictionary dict = new SymSpellDictionary(1, 7);
+        dict.add("keyboard", 1);
+
+        assertTrue(dict.lookup("kyebaord", 5).isEmpty());
+        assertEquals(List.of("keyboard"), dict.lookup("keybaord", 5).stream().map(SymSpellDictionary.Suggestion::term).toList());
+    }
+
+    @Test
+    void matchesBeyondPrefixLength() {
+        SymSpellDictionary dict = new SymSpellDictionary(2, 4);
+        dict.add("wireless mouse", 1);
+
+        assertEquals("wireless mouse", dict.lookup("wireless mosue", 5).get(0).term());
+        assertTrue(dict.lookup("wirexxxs mouse", 5).isEmpty());
+    }
+
+    @Test
+    void correctsTypoInsidePartiallyTypedPrefix() {
+        SymSpellDictionary dict = new SymSpellDictionary(2, 7);
+        dict.add("삼성전자", 5);
+        dict.add("노트북", 3);
+
+        // 단어 전체와 비교하면 길이 차이로 탈락하지만 앞부분과는 거리 1
+        assertTrue(dict.lookup("삼송", 5).isEmpty());
+        assertEquals("삼성전자", dict.lookupPrefix("삼송", 5).get(0).term());
+        assertEquals(1, dict.lookupPrefix("삼송", 5).get(0).distance());
+        assertEquals("노트북", dict.lookupPrefix("노투", 5).get(0).term());
+        assertEquals(0, dict.lookupPrefix("삼성전", 5).get(0).distance());
+    }
+
+    @Test
+    void prefixCandidatesStayBoundedAsDictionaryGrows() {
+        SymSpellDictionary small = new SymSpellDictionary(2, 7, 8);
+        SymSpellDictionary large = new SymSpellDictionary(2, 7, 8);
+        for (int i = 0; i < 100; i++) small.add("노트" + i, 1);
+        for (int i = 0; i < 10_000; i++) large.add("노트" + i, 1);
+
+        // 1~2글자 입력은 모든 단어의 접두어 변형과 겹치지만 후보 수는 사전 크기와 무관
+        int bound = 3 * 8;
+        assertTrue(large.prefixCandidateCount("노") <= bound);
+        assertTrue(large.prefixCandidateCount("노트") <= bound);
+        assertTrue(large.prefixCandidateCount("노투") <= bound);
+        assertEquals(small.prefixCandidateCount("노트"), large.prefixCandidateCount("노트"));
+    }
+
+    @Test
+    void keepsMostFrequentWordsInFullPrefixBuckets() {
+        SymSpellDictionary dict = new SymSpellDictionary(2, 7, 4);
+        for (int i = 0; i < 100; i++) dict.add("노트" + i, 1);
+        dict.add("노트북", 50);
+
+        assertEquals("노트북", dict.lookupPrefix("노트", 1).get(0).term());
+        assertEquals("노트북", dict.lookupPrefix("노투", 1).get(0).term());
+        // 단어 전체 조회는 접두어 버킷 크기와 무관
+        assertEquals(0, dict.lookup("노트7", 1).get(0).distance());
+    }
+
+    @Test
+    void singleCharacterPrefixOnlyMatchesExactly() {
+        SymSpellDictionary dict = new SymSpellDictionary(2, 7);
+        dict.add("노트북", 3);
+        dict.add("마우스", 5);
+
+        assertEquals(List.of("노트북"), dict.lookupPrefix("노", 5).stream().map(SymSpellDictionary.Suggestion::term).toList());
+        assertTrue(dict.lookupPrefix("x", 5).isEmpty());
+    }
+}